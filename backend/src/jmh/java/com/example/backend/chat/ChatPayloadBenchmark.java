@@ -0,0 +1,59 @@
+package com.example.backend.chat;
+
+import com.example.backend.chat.dto.ChatMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📌 채팅 메시지 발행 경로 직렬화 비용 비교
+ * - legacy: UTF-8 왕복 → String 직렬화 → (Redis 수신) 파싱 → UTF-8 왕복 → 재직렬화
+ * - bytes: 바이트로 한 번 직렬화한 뒤 그대로 전달
+ * - ./gradlew jmh 실행 후 gc.alloc.rate.norm(메시지당 할당 바이트)을 비교
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ChatPayloadBenchmark {
+
+    private ObjectMapper objectMapper;
+    private ChatMessageDto chatMessageDto;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        chatMessageDto = ChatMessageDto.builder()
+                .roomId(42L)
+                .senderEmail("user@example.com")
+                .message("안녕하세요, 오늘 회의는 3시에 시작합니다. See you there!")
+                .build();
+    }
+
+    @Benchmark
+    public byte[] legacy() throws Exception {
+        // StompController: UTF-8 왕복 후 String으로 직렬화하여 발행
+        String utf8 = new String(chatMessageDto.getMessage().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        chatMessageDto.setMessage(utf8);
+        String published = objectMapper.writeValueAsString(chatMessageDto);
+        // RedisPubSubService: 채널 전송 바이트 → String → DTO 파싱 → UTF-8 왕복
+        String received = new String(published.getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8);
+        ChatMessageDto parsed = objectMapper.readValue(received, ChatMessageDto.class);
+        parsed.setMessage(new String(parsed.getMessage().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8));
+        // convertAndSend: 메시지 컨버터가 다시 직렬화
+        return objectMapper.writeValueAsBytes(parsed);
+    }
+
+    @Benchmark
+    public byte[] bytes() throws Exception {
+        // 한 번 직렬화한 바이트를 Redis PUBLISH와 STOMP MESSAGE 본문에 그대로 사용
+        return objectMapper.writeValueAsBytes(chatMessageDto);
+    }
+}
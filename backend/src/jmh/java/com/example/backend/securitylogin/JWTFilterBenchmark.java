@@ -0,0 +1,75 @@
+package com.example.backend.securitylogin;
+
+import com.example.backend.securitylogin.jwt.JWTFilter;
+import com.example.backend.securitylogin.jwt.JWTUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📌 JWTFilter 요청당 처리량 (초당 처리 요청 수)
+ * - valid: 유효한 Access Token → JwtPrincipal 생성 후 다음 필터로 진행
+ * - expired: access token 만료 직후처럼 만료된 토큰이 몰리는 경우 → 서명 검증 없이 401
+ * - invalidSignature: 서명이 다른 토큰 → 401 + 카운터
+ * - ./gradlew jmh 실행 후 각 결과(ops/s)가 목표 부하인 10,000 요청/초를 충분히 넘는지 확인
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class JWTFilterBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-benchmark";
+
+    private JWTFilter jwtFilter;
+    private String validToken;
+    private String expiredToken;
+    private String invalidSignatureToken;
+
+    @Setup
+    public void setup() {
+        JWTUtil jwtUtil = new JWTUtil(SECRET);
+        jwtFilter = new JWTFilter(jwtUtil, new SimpleMeterRegistry());
+        validToken = jwtUtil.createJwt("access_token", "user@example.com", "USER", TimeUnit.HOURS.toMillis(1));
+        expiredToken = jwtUtil.createJwt("access_token", "user@example.com", "USER", -TimeUnit.MINUTES.toMillis(1));
+        invalidSignatureToken = new JWTUtil(SECRET + "-other")
+                .createJwt("access_token", "user@example.com", "USER", TimeUnit.HOURS.toMillis(1));
+    }
+
+    @Benchmark
+    public int valid() throws Exception {
+        return filter(validToken);
+    }
+
+    @Benchmark
+    public int expired() throws Exception {
+        return filter(expiredToken);
+    }
+
+    @Benchmark
+    public int invalidSignature() throws Exception {
+        return filter(invalidSignatureToken);
+    }
+
+    private int filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/chat/my/rooms");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            jwtFilter.doFilter(request, response, new MockFilterChain());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
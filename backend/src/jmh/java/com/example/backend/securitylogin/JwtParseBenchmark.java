@@ -0,0 +1,67 @@
+package com.example.backend.securitylogin;
+
+import com.example.backend.securitylogin.jwt.JWTUtil;
+import com.example.backend.securitylogin.jwt.JwtClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import javax.crypto.SecretKey;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📌 요청당 JWT 검증 비용 비교 (JWTFilter 기준)
+ * - legacy: isExpired/getCategory/getUsername/getRole 마다 파서를 새로 만들어 파싱 + 서명 검증 (4회)
+ * - parseOnce: 공유 파서로 한 번 파싱하여 JwtClaims 사용
+ * - ./gradlew jmh 실행 후 평균 시간과 gc.alloc.rate.norm(요청당 할당 바이트)을 비교
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtParseBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-benchmark-secret-key-benchmark";
+
+    private JWTUtil jwtUtil;
+    private SecretKey secretKey;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtUtil = new JWTUtil(SECRET);
+        secretKey = new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+        token = jwtUtil.createJwt("access_token", "user@example.com", "ROLE_USER", TimeUnit.HOURS.toMillis(1));
+    }
+
+    @Benchmark
+    public void legacy(Blackhole blackhole) {
+        blackhole.consume(legacyPayload().getExpiration().before(new Date()));
+        blackhole.consume(legacyPayload().get("category", String.class));
+        blackhole.consume(legacyPayload().get("username", String.class));
+        blackhole.consume(legacyPayload().get("role", String.class));
+    }
+
+    @Benchmark
+    public JwtClaims parseOnce() {
+        return jwtUtil.parse(token);
+    }
+
+    // 변경 전 JWTUtil.getPayload: 호출마다 파서를 새로 만들어 서명 검증
+    private Claims legacyPayload() {
+        return Jwts.parser()
+                .verifyWith(secretKey)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,320 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.chat.domain.ChatParticipant;
+import com.example.backend.chat.domain.ChatRoom;
+import com.example.backend.chat.dto.ChatMessageDto;
+import com.example.backend.chat.repository.ChatParticipantRepository;
+import com.example.backend.chat.repository.ChatRoomRepository;
+import com.example.backend.securitylogin.entity.UserEntity;
+import com.example.backend.securitylogin.jwt.JWTUtil;
+import com.example.backend.securitylogin.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+import org.springframework.web.socket.sockjs.client.SockJsClient;
+import org.springframework.web.socket.sockjs.client.WebSocketTransport;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 📌 채팅 처리량/지연 시간 부하 테스트 (./gradlew loadTest)
+ * - H2(MySQL 모드) + 내장 Redis로 애플리케이션을 띄우고 채팅방 크기별로 SockJS/STOMP 클라이언트를 연결
+ * - 모든 참여자가 /topic/{roomId}를 구독하고, 채팅방마다 일부 참여자가 /publish/{roomId}로 메시지 발행
+ * - 발행 시각(nanoTime)을 메시지에 담아 구독자 수신 시점까지의 종단 간 지연 시간 측정
+ * - 연결 속도(connections/s), 전달 처리량(messages/s), p50/p99/최대 지연, 구독 후 힙 증가량 출력
+ *   (힙 증가량은 같은 JVM에서 실행되는 클라이언트 세션을 포함하므로 브로커 모드 간 상대 비교용)
+ * - 예: 브로커 모드별 1만 구독 비교 → -Dloadtest.room-sizes=1000 -Dloadtest.rooms=10 -Dchat.broker.mode=simple|relay
+ *   (relay는 docker-compose.broker.yml의 브로커 필요)
+ * - 예: DB 지연 시 채팅방별 처리 비교 → -Dloadtest.db-latency-ms=20 -Dchat.websocket.inbound.virtual-threads=false|true
+ * - 결과는 실행 환경(CPU, Redis/브로커 위치)에 따라 크게 달라지므로 같은 환경에서 설정만 바꿔 비교
+ *
+ * 옵션 (-D로 지정)
+ * - loadtest.room-sizes: 채팅방 크기 목록 (기본 2,10,50)
+ * - loadtest.rooms: 크기별 채팅방 수 (기본 5)
+ * - loadtest.senders-per-room: 채팅방별 발행자 수 (기본 2)
+ * - loadtest.messages: 발행자별 메시지 수 (기본 50)
+ * - loadtest.send-interval-ms: 발행 간격 (기본 10)
+ * - loadtest.timeout-seconds: 전달 대기 시간 (기본 120)
+ * - loadtest.max-p99-ms: 0보다 크면 p99 지연이 이 값을 넘을 때 실패 (회귀 기준)
+ * - loadtest.db-latency-ms: SQL마다 주입할 지연 (LatencyInjectingStatementInspector)
+ * - chat.*: 애플리케이션 설정 (예: chat.broker.mode=relay, chat.websocket.inbound.virtual-threads=true,
+ *   chat.delivery.coalesce.enabled=true)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+class ChatLoadTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatLoadTest.class);
+    private static final String MESSAGE_PREFIX = "lt:";
+
+    private static RedisServer redisServer;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ChatRoomRepository chatRoomRepository;
+    @Autowired
+    private ChatParticipantRepository chatParticipantRepository;
+    @Autowired
+    private JWTUtil jwtUtil;
+
+    @DynamicPropertySource
+    static void redisProperties(DynamicPropertyRegistry registry) throws IOException {
+        int redisPort = freePort();
+        redisServer = new RedisServer(redisPort);
+        redisServer.start();
+        registry.add("spring.data.redis.port", () -> redisPort);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Test
+    void chatThroughputAndLatency() throws Exception {
+        int[] roomSizes = Arrays.stream(System.getProperty("loadtest.room-sizes", "2,10,50").split(","))
+                .map(String::trim)
+                .mapToInt(Integer::parseInt)
+                .toArray();
+
+        log.info(String.format("%-6s %-6s %-8s %-10s %-10s %-12s %-9s %-9s %-9s %-10s",
+                "size", "rooms", "clients", "conn/s", "delivered", "msgs/s", "p50(ms)", "p99(ms)", "max(ms)", "heap(MB)"));
+        for (int roomSize : roomSizes) {
+            runScenario(roomSize);
+        }
+    }
+
+    private void runScenario(int roomSize) throws Exception {
+        int rooms = Integer.getInteger("loadtest.rooms", 5);
+        int sendersPerRoom = Math.min(roomSize, Integer.getInteger("loadtest.senders-per-room", 2));
+        int messages = Integer.getInteger("loadtest.messages", 50);
+        long sendIntervalMs = Long.getLong("loadtest.send-interval-ms", 10L);
+        long timeoutSeconds = Long.getLong("loadtest.timeout-seconds", 120L);
+        long maxP99Ms = Long.getLong("loadtest.max-p99-ms", 0L);
+
+        // 채팅방과 참여자 준비
+        List<Long> roomIds = new ArrayList<>();
+        List<List<UserEntity>> membersByRoom = new ArrayList<>();
+        for (int r = 0; r < rooms; r++) {
+            ChatRoom chatRoom = chatRoomRepository.save(ChatRoom.builder()
+                    .name("loadtest-" + roomSize + "-" + r)
+                    .isGroupChat("Y")
+                    .build());
+            List<UserEntity> members = new ArrayList<>();
+            for (int i = 0; i < roomSize; i++) {
+                UserEntity member = userRepository.save(UserEntity.builder()
+                        .username("lt" + i)
+                        .email("lt-" + roomSize + "-" + r + "-" + i + "@loadtest.local")
+                        .password("loadtest")
+                        .build());
+                chatParticipantRepository.save(ChatParticipant.builder()
+                        .chatRoom(chatRoom)
+                        .member(member)
+                        .build());
+                members.add(member);
+            }
+            roomIds.add(chatRoom.getId());
+            membersByRoom.add(members);
+        }
+
+        int expectedDeliveries = rooms * sendersPerRoom * messages * roomSize;
+        long[] latencies = new long[expectedDeliveries];
+        AtomicInteger delivered = new AtomicInteger();
+        CountDownLatch allDelivered = new CountDownLatch(expectedDeliveries);
+
+        WebSocketStompClient stompClient = stompClient();
+        long heapBefore = usedHeap();
+
+        // 모든 참여자 연결 + 구독
+        long connectStart = System.nanoTime();
+        List<List<StompSession>> sessionsByRoom = new ArrayList<>();
+        for (int r = 0; r < rooms; r++) {
+            List<StompSession> sessions = new ArrayList<>();
+            for (UserEntity member : membersByRoom.get(r)) {
+                StompSession session = connect(stompClient, member.getEmail());
+                subscribe(session, member.getEmail(), roomIds.get(r), latencies, delivered, allDelivered);
+                sessions.add(session);
+            }
+            sessionsByRoom.add(sessions);
+        }
+        long connectNanos = System.nanoTime() - connectStart;
+        // 구독 등록(노드 간 전달 계층 구독 포함)이 끝나도록 잠시 대기
+        Thread.sleep(1000);
+        long heapAfter = usedHeap();
+
+        // 채팅방별 발행자가 동시에 발행
+        ExecutorService senders = Executors.newFixedThreadPool(rooms * sendersPerRoom);
+        long sendStart = System.nanoTime();
+        for (int r = 0; r < rooms; r++) {
+            Long roomId = roomIds.get(r);
+            for (int s = 0; s < sendersPerRoom; s++) {
+                StompSession session = sessionsByRoom.get(r).get(s);
+                String email = membersByRoom.get(r).get(s).getEmail();
+                senders.execute(() -> publish(session, roomId, email, messages, sendIntervalMs));
+            }
+        }
+        boolean completed = allDelivered.await(timeoutSeconds, TimeUnit.SECONDS);
+        long elapsedNanos = System.nanoTime() - sendStart;
+        senders.shutdownNow();
+
+        for (List<StompSession> sessions : sessionsByRoom) {
+            sessions.forEach(StompSession::disconnect);
+        }
+        stompClient.stop();
+
+        int count = Math.min(delivered.get(), expectedDeliveries);
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        double p99Ms = percentileMs(sorted, 0.99);
+        int clients = rooms * roomSize;
+        log.info(String.format("%-6d %-6d %-8d %-10.1f %-10s %-12.1f %-9.2f %-9.2f %-9.2f %-10.1f",
+                roomSize, rooms, clients,
+                clients / (connectNanos / 1e9),
+                count + "/" + expectedDeliveries,
+                count / (elapsedNanos / 1e9),
+                percentileMs(sorted, 0.50), p99Ms, percentileMs(sorted, 1.0),
+                (heapAfter - heapBefore) / (1024.0 * 1024.0)));
+
+        assertTrue(completed, "제한 시간 안에 모든 메시지가 전달되지 않았습니다: " + count + "/" + expectedDeliveries);
+        assertEquals(expectedDeliveries, count);
+        if (maxP99Ms > 0) {
+            assertTrue(p99Ms <= maxP99Ms, "p99 지연 " + p99Ms + "ms가 기준 " + maxP99Ms + "ms를 초과했습니다.");
+        }
+    }
+
+    private WebSocketStompClient stompClient() {
+        WebSocketStompClient stompClient = new WebSocketStompClient(
+                new SockJsClient(List.of(new WebSocketTransport(new StandardWebSocketClient()))));
+        stompClient.setMessageConverter(new MappingJackson2MessageConverter());
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(2);
+        scheduler.initialize();
+        stompClient.setTaskScheduler(scheduler);
+        return stompClient;
+    }
+
+    private StompSession connect(WebSocketStompClient stompClient, String email) throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + accessToken(email));
+        return stompClient.connectAsync("http://localhost:" + port + "/connect",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {})
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private void subscribe(StompSession session, String email, Long roomId, long[] latencies,
+                           AtomicInteger delivered, CountDownLatch allDelivered) {
+        StompHeaders headers = new StompHeaders();
+        headers.setDestination("/topic/" + roomId);
+        headers.add("Authorization", "Bearer " + accessToken(email));
+        session.subscribe(headers, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders stompHeaders) {
+                return JsonNode.class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders stompHeaders, Object payload) {
+                long receivedAt = System.nanoTime();
+                JsonNode body = (JsonNode) payload;
+                // 묶음 전송(chat.delivery.coalesce) 시 본문이 메시지 배열
+                if (body.isArray()) {
+                    body.forEach(node -> record(node, receivedAt, latencies, delivered, allDelivered));
+                } else {
+                    record(body, receivedAt, latencies, delivered, allDelivered);
+                }
+            }
+        });
+    }
+
+    private static void record(JsonNode node, long receivedAt, long[] latencies,
+                               AtomicInteger delivered, CountDownLatch allDelivered) {
+        String message = node.path("message").asText(null);
+        if (message == null || !message.startsWith(MESSAGE_PREFIX)) {
+            return;
+        }
+        long sentAt = Long.parseLong(message.substring(MESSAGE_PREFIX.length(), message.indexOf(':', MESSAGE_PREFIX.length())));
+        int index = delivered.getAndIncrement();
+        if (index < latencies.length) {
+            latencies[index] = receivedAt - sentAt;
+        }
+        allDelivered.countDown();
+    }
+
+    private void publish(StompSession session, Long roomId, String email, int messages, long sendIntervalMs) {
+        try {
+            for (int i = 0; i < messages; i++) {
+                ChatMessageDto chatMessageDto = ChatMessageDto.builder()
+                        .message(MESSAGE_PREFIX + System.nanoTime() + ":" + i)
+                        .senderEmail(email)
+                        .build();
+                session.send("/publish/" + roomId, chatMessageDto);
+                if (sendIntervalMs > 0) {
+                    Thread.sleep(sendIntervalMs);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private String accessToken(String email) {
+        return jwtUtil.createJwt("access_token", email, "ROLE_USER", TimeUnit.HOURS.toMillis(1));
+    }
+
+    private static double percentileMs(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
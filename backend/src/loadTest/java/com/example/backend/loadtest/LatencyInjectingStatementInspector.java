@@ -0,0 +1,24 @@
+package com.example.backend.loadtest;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * SQL 실행 전마다 loadtest.db-latency-ms 만큼 대기하여 느린 데이터베이스를 흉내내는 Hibernate StatementInspector
+ * - 0(기본)이면 지연 없음
+ */
+public class LatencyInjectingStatementInspector implements StatementInspector {
+
+    private static final long LATENCY_MS = Long.getLong("loadtest.db-latency-ms", 0L);
+
+    @Override
+    public String inspect(String sql) {
+        if (LATENCY_MS > 0) {
+            try {
+                Thread.sleep(LATENCY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return sql;
+    }
+}
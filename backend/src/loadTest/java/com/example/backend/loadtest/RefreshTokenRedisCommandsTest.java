@@ -0,0 +1,140 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.securitylogin.service.RefreshTokenService;
+import com.example.backend.securitylogin.service.RefreshTokenService.RotationResult;
+import io.lettuce.core.metrics.CommandLatencyRecorder;
+import io.lettuce.core.protocol.ProtocolKeyword;
+import io.lettuce.core.resource.ClientResources;
+import io.lettuce.core.resource.DefaultClientResources;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.SocketAddress;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 로그인/재발급/로그아웃 한 번에 Redis로 보내는 명령 수 측정
+ * - Lettuce CommandLatencyRecorder로 클라이언트가 보낸 명령을 종류별로 집계 (Lua 스크립트 내부 명령은 제외)
+ * - 스크립트는 처음 한 번 EVAL로 등록된 뒤 EVALSHA 한 번으로 실행
+ * - 재발급은 EVALSHA 1개, 로그인/로그아웃은 스크립트 KEYS에 넣을 역인덱스/토큰 키를 먼저 GET하므로 명령 2개
+ * - 실행: ./gradlew loadTest --tests '*RefreshTokenRedisCommandsTest'
+ */
+class RefreshTokenRedisCommandsTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenRedisCommandsTest.class);
+
+    private static final String EMAIL = "commands@example.com";
+
+    private static final Map<String, AtomicInteger> commands = new ConcurrentHashMap<>();
+
+    private static RedisServer redisServer;
+    private static ClientResources clientResources;
+    private static LettuceConnectionFactory connectionFactory;
+    private static RefreshTokenService refreshTokenService;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+
+        clientResources = DefaultClientResources.builder()
+                .commandLatencyRecorder(new CommandLatencyRecorder() {
+                    @Override
+                    public void recordCommandLatency(SocketAddress local, SocketAddress remote, ProtocolKeyword commandType,
+                                                     long firstResponseLatency, long completionLatency) {
+                        commands.computeIfAbsent(commandType.toString(), key -> new AtomicInteger()).incrementAndGet();
+                    }
+                })
+                .build();
+        connectionFactory = new LettuceConnectionFactory(
+                new RedisStandaloneConfiguration("localhost", port),
+                LettuceClientConfiguration.builder().clientResources(clientResources).build());
+        connectionFactory.afterPropertiesSet();
+        refreshTokenService = new RefreshTokenService(new StringRedisTemplate(connectionFactory));
+
+        // 스크립트 등록(EVAL)과 연결 초기화 명령은 측정에서 제외
+        refreshTokenService.saveRefresh(EMAIL, 3600, "warmup-1");
+        refreshTokenService.rotateRefresh(EMAIL, "warmup-1", 3600, "warmup-2");
+        refreshTokenService.deleteRefreshTokenByToken("warmup-2");
+        refreshTokenService.deleteRefreshToken(EMAIL);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (clientResources != null) {
+            clientResources.shutdown();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @BeforeEach
+    void resetCommands() {
+        commands.clear();
+    }
+
+    @Test
+    void loginReissueLogoutSendAtMostTwoCommands() {
+        assertEquals(2, measure("login", () -> refreshTokenService.saveRefresh(EMAIL, 3600, "refresh-1")));
+
+        assertEquals(1, measure("reissue", () ->
+                assertEquals(RotationResult.ROTATED, refreshTokenService.rotateRefresh(EMAIL, "refresh-1", 3600, "refresh-2"))));
+
+        assertEquals(2, measure("logout(token)", () ->
+                assertTrue(refreshTokenService.deleteRefreshTokenByToken("refresh-2"))));
+        assertNull(refreshTokenService.getRefreshToken(EMAIL));
+
+        refreshTokenService.saveRefresh(EMAIL, 3600, "refresh-3");
+        assertEquals(2, measure("logout(email)", () -> refreshTokenService.deleteRefreshToken(EMAIL)));
+        assertFalse(refreshTokenService.deleteRefreshTokenByToken("refresh-3"));
+    }
+
+    @Test
+    void revocationCostDoesNotGrowWithLoggedInUsers() {
+        for (int i = 0; i < 1000; i++) {
+            refreshTokenService.saveRefresh("user" + i + "@example.com", 3600, "refresh-user-" + i);
+        }
+        refreshTokenService.saveRefresh(EMAIL, 3600, "refresh-target");
+
+        assertEquals(2, measure("logout(token) with 1000 users", () ->
+                assertTrue(refreshTokenService.deleteRefreshTokenByToken("refresh-target"))));
+    }
+
+    // 작업 하나가 보낸 명령 수를 종류별로 기록하고 합계 반환
+    private int measure(String name, Runnable operation) {
+        commands.clear();
+        operation.run();
+        Map<String, Integer> snapshot = new TreeMap<>();
+        commands.forEach((command, count) -> snapshot.put(command, count.get()));
+        int total = snapshot.values().stream().mapToInt(Integer::intValue).sum();
+        log.info("[redis-commands] {}: total={} {}", name, total, snapshot);
+        return total;
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.backend.loadtest;
+
+import com.example.backend.securitylogin.service.RefreshTokenService;
+import com.example.backend.securitylogin.service.RefreshTokenService.RotationResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * 같은 Refresh Token으로 동시에 재발급을 요청하면 정확히 하나만 교체에 성공하는지 확인
+ * - 내장 Redis에서 RefreshTokenService.rotateRefresh를 N개 스레드가 동시에 호출
+ * - 실행: ./gradlew loadTest --tests '*RefreshTokenRotationConcurrencyTest' -Dloadtest.rotation-threads=64
+ */
+class RefreshTokenRotationConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(RefreshTokenRotationConcurrencyTest.class);
+
+    private static final int THREADS = Integer.getInteger("loadtest.rotation-threads", 32);
+    private static final String EMAIL = "rotation@example.com";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+    private static RefreshTokenService refreshTokenService;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+        refreshTokenService = new RefreshTokenService(redisTemplate);
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @Test
+    void exactlyOneConcurrentRotationWins() throws Exception {
+        refreshTokenService.saveRefresh(EMAIL, 3600, "refresh-original");
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<RotationResult>> futures = new ArrayList<>(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            String newToken = "refresh-" + i;
+            futures.add(executor.submit(() -> {
+                start.await();
+                return refreshTokenService.rotateRefresh(EMAIL, "refresh-original", 3600, newToken);
+            }));
+        }
+        start.countDown();
+
+        int rotated = 0;
+        int mismatched = 0;
+        String winner = null;
+        for (int i = 0; i < THREADS; i++) {
+            RotationResult result = futures.get(i).get();
+            if (result == RotationResult.ROTATED) {
+                rotated++;
+                winner = "refresh-" + i;
+            } else if (result == RotationResult.MISMATCH) {
+                mismatched++;
+            }
+        }
+        executor.shutdown();
+
+        log.info("[rotation] threads={} rotated={} mismatched={}", THREADS, rotated, mismatched);
+        assertEquals(1, rotated);
+        assertEquals(THREADS - 1, mismatched);
+        assertNotNull(winner);
+        assertEquals(winner, refreshTokenService.getRefreshToken(EMAIL));
+
+        // 교체된 토큰은 재사용할 수 없고, 저장된 토큰이 없으면 MISSING
+        assertEquals(RotationResult.MISMATCH, refreshTokenService.rotateRefresh(EMAIL, "refresh-original", 3600, "refresh-replay"));
+        refreshTokenService.deleteRefreshTokenByToken(winner);
+        assertEquals(RotationResult.MISSING, refreshTokenService.rotateRefresh(EMAIL, winner, 3600, "refresh-after-logout"));
+    }
+}
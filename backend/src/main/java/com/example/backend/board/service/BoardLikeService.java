@@ -5,7 +5,7 @@ import com.example.backend.board.entity.BoardLike;
 import com.example.backend.board.repository.BoardLikeRepository;
 import com.example.backend.board.repository.BoardRepository;
 import com.example.backend.securitylogin.entity.UserEntity;
-import com.example.backend.securitylogin.repository.UserRepository;
+import com.example.backend.securitylogin.service.CurrentUserCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -22,7 +22,7 @@ public class BoardLikeService {
     
     private final BoardRepository boardRepository;
     private final BoardLikeRepository boardLikeRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserCache currentUserCache; // 🔹 이메일 -> 사용자 ID 캐시 (조회 쿼리 생략)
     
     /**
      * 좋아요 토글 (추가 또는 삭제)
@@ -37,7 +37,7 @@ public class BoardLikeService {
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다: " + boardId));
         
         // 사용자 조회
-        UserEntity user = userRepository.findByEmail(email)
+        UserEntity user = currentUserCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
         
         // 이미 좋아요를 눌렀는지 확인
@@ -78,7 +78,7 @@ public class BoardLikeService {
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다: " + boardId));
         
         // 사용자 조회
-        UserEntity user = userRepository.findByEmail(email)
+        UserEntity user = currentUserCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
         
         // 좋아요 여부 확인
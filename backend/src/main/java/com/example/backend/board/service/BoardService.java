@@ -5,7 +5,7 @@ import com.example.backend.board.dto.PagedBoardsDto;
 import com.example.backend.board.entity.Board;
 import com.example.backend.board.repository.BoardRepository;
 import com.example.backend.securitylogin.entity.UserEntity;
-import com.example.backend.securitylogin.repository.UserRepository;
+import com.example.backend.securitylogin.service.CurrentUserCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -26,13 +26,13 @@ import java.util.stream.Collectors;
 public class BoardService {
     
     private final BoardRepository boardRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserCache currentUserCache; // 🔹 이메일 -> 사용자 ID 캐시 (조회 쿼리 생략)
     
     /**
      * 게시글 생성
      */
     public BoardDto.Response create(BoardDto.CreateRequest request, String email) {
-        UserEntity user = userRepository.findByEmail(email)
+        UserEntity user = currentUserCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
         
         Board board = Board.builder()
@@ -43,7 +43,7 @@ public class BoardService {
                 .build();
         
         Board savedBoard = boardRepository.save(board);
-        log.info("게시글 생성 완료: id={}, 제목={}, 작성자={}", savedBoard.getId(), savedBoard.getTitle(), user.getUsername());
+        log.info("게시글 생성 완료: id={}, 제목={}, 작성자={}", savedBoard.getId(), savedBoard.getTitle(), email);
         
         return BoardDto.Response.fromEntity(savedBoard, true, false);
     }
@@ -55,7 +55,7 @@ public class BoardService {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다: " + boardId));
         
-        UserEntity user = userRepository.findByEmail(email)
+        UserEntity user = currentUserCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
         
         // 작성자 확인
@@ -78,7 +78,7 @@ public class BoardService {
         Board board = boardRepository.findById(boardId)
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다: " + boardId));
         
-        UserEntity user = userRepository.findByEmail(email)
+        UserEntity user = currentUserCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
         
         // 작성자 확인
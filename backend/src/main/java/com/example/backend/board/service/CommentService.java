@@ -7,7 +7,7 @@ import com.example.backend.board.entity.Comment;
 import com.example.backend.board.repository.BoardRepository;
 import com.example.backend.board.repository.CommentRepository;
 import com.example.backend.securitylogin.entity.UserEntity;
-import com.example.backend.securitylogin.repository.UserRepository;
+import com.example.backend.securitylogin.service.CurrentUserCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -24,7 +24,7 @@ public class CommentService {
 
     private final CommentRepository commentRepository;
     private final BoardRepository boardRepository;
-    private final UserRepository userRepository;
+    private final CurrentUserCache currentUserCache; // 🔹 이메일 -> 사용자 ID 캐시 (조회 쿼리 생략)
 
     /**
      * 댓글 생성
@@ -40,7 +40,7 @@ public class CommentService {
                 .orElseThrow(() -> new IllegalArgumentException("게시글을 찾을 수 없습니다: " + boardId));
         
         // 사용자 조회
-        UserEntity user = userRepository.findByEmail(email)
+        UserEntity user = currentUserCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
         
         // 부모 댓글 조회 (대댓글인 경우)
@@ -75,7 +75,7 @@ public class CommentService {
         
         // 댓글 저장
         Comment savedComment = commentRepository.save(comment);
-        log.info("댓글 생성 완료: id={}, 내용={}, 작성자={}", savedComment.getId(), savedComment.getContent(), user.getUsername());
+        log.info("댓글 생성 완료: id={}, 내용={}, 작성자={}", savedComment.getId(), savedComment.getContent(), email);
         
         return CommentResponseDto.CommentDto.fromEntity(savedComment);
     }
@@ -94,7 +94,7 @@ public class CommentService {
                 .orElseThrow(() -> new IllegalArgumentException("댓글을 찾을 수 없습니다: " + commentId));
         
         // 사용자 조회
-        UserEntity user = userRepository.findByEmail(email)
+        UserEntity user = currentUserCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
         
         // 댓글 작성자 확인
@@ -129,7 +129,7 @@ public class CommentService {
                 .orElseThrow(() -> new IllegalArgumentException("댓글을 찾을 수 없습니다: " + commentId));
         
         // 사용자 조회
-        UserEntity user = userRepository.findByEmail(email)
+        UserEntity user = currentUserCache.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + email));
         
         // 댓글 작성자 확인
@@ -0,0 +1,73 @@
+package com.example.backend.chat.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+/**
+ * 📌 STOMP 메시지 브로커 설정
+ * - chat.broker.mode=simple(기본): 인메모리 simple broker, 노드 간 전달은 Redis(chat.transport)가 담당
+ * - chat.broker.mode=relay: 외부 STOMP 브로커(RabbitMQ 등)로 relay, 구독 관리와 노드 간 fan-out을 브로커가 담당
+ * - 로컬 브로커는 docker-compose.broker.yml 로 실행
+ */
+@Getter
+@Component
+public class ChatBrokerProperties {
+
+    public static final String RELAY_MODE = "relay";
+
+    private final String mode;
+    private final String relayHost;
+    private final int relayPort;
+    private final String login;
+    private final String passcode;
+    private final String virtualHost;
+    private final long heartbeatMs;
+
+    public ChatBrokerProperties(
+            @Value("${chat.broker.mode:simple}") String mode,
+            @Value("${chat.broker.relay.host:localhost}") String relayHost,
+            @Value("${chat.broker.relay.port:61613}") int relayPort,
+            @Value("${chat.broker.relay.login:guest}") String login,
+            @Value("${chat.broker.relay.passcode:guest}") String passcode,
+            @Value("${chat.broker.relay.virtual-host:/}") String virtualHost,
+            @Value("${chat.broker.heartbeat-ms:10000}") long heartbeatMs) {
+        this.mode = mode;
+        this.relayHost = relayHost;
+        this.relayPort = relayPort;
+        this.login = login;
+        this.passcode = passcode;
+        this.virtualHost = virtualHost;
+        this.heartbeatMs = heartbeatMs;
+    }
+
+    public boolean isRelay() {
+        return RELAY_MODE.equalsIgnoreCase(mode);
+    }
+
+    /**
+     * 🔹 설정된 모드로 브로커 등록
+     * @param heartbeatScheduler simple broker heartbeat 전송/확인에 사용할 스케줄러 (heartbeat 값을 쓰려면 필수)
+     * @param destinationPrefixes 브로커가 처리할 목적지 prefix (예: /topic, /queue)
+     */
+    public void configure(MessageBrokerRegistry registry, TaskScheduler heartbeatScheduler, String... destinationPrefixes) {
+        if (isRelay()) {
+            registry.enableStompBrokerRelay(destinationPrefixes)
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(login)
+                    .setClientPasscode(passcode)
+                    .setSystemLogin(login)
+                    .setSystemPasscode(passcode)
+                    .setVirtualHost(virtualHost)
+                    .setSystemHeartbeatSendInterval(heartbeatMs)
+                    .setSystemHeartbeatReceiveInterval(heartbeatMs);
+            return;
+        }
+        registry.enableSimpleBroker(destinationPrefixes)
+                .setTaskScheduler(heartbeatScheduler)
+                .setHeartbeatValue(new long[]{heartbeatMs, heartbeatMs});
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.backend.chat.config;
 
-
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
@@ -13,24 +15,30 @@ import java.util.concurrent.ConcurrentHashMap;
 
 //스프링과 stomp는 기본적으로 세션관리를 자동(내부적)으로 처리
 //연결/해제 이벤트를 기록, 연결된 세션수를 실시간으로 확인할 목적으로 이벤트 리스너를 생성 => 로그, 디버깅 목적
+//연결된 세션 수는 chat.sessions 지표로 확인 (연결/해제 로그는 debug 레벨)
+@Slf4j
 @Component
 public class StompEventListener {
 
     private final Set<String> sessions = ConcurrentHashMap.newKeySet();
 
+    public StompEventListener(MeterRegistry meterRegistry) {
+        Gauge.builder("chat.sessions", sessions, Set::size)
+                .description("이 노드에 연결된 STOMP 세션 수")
+                .register(meterRegistry);
+    }
+
     @EventListener
     public void connectHandle(SessionConnectEvent event){
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
         sessions.add(accessor.getSessionId());
-        System.out.println("connect sessiond ID" + accessor.getSessionId());
-        System.out.println("total session : " + sessions.size());
+        log.debug("STOMP 연결: sessionId={}, total={}", accessor.getSessionId(), sessions.size());
     }
 
     @EventListener
     public void disconnectHandle(SessionDisconnectEvent event){
         StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
         sessions.remove(accessor.getSessionId());
-        System.out.println("disconnect sessiond ID" + accessor.getSessionId());
-        System.out.println("total session : " + sessions.size());
+        log.debug("STOMP 연결 해제: sessionId={}, total={}", accessor.getSessionId(), sessions.size());
     }
 }
@@ -1,7 +1,9 @@
 package com.example.backend.chat.config;
 
 import com.example.backend.chat.service.ChatService;
+import com.example.backend.common.logging.LogSampler;
 import com.example.backend.securitylogin.jwt.JWTUtil;
+import com.example.backend.securitylogin.jwt.JwtClaims;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.messaging.Message;
@@ -9,20 +11,29 @@ import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
 import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Component;
 
 import java.security.Principal;
 import java.util.Collections;
-import java.util.List;
+import java.util.Map;
 
 @Component
 public class StompHandler implements ChannelInterceptor {
 
     private static final Logger logger = LoggerFactory.getLogger(StompHandler.class);
+    // SEND는 메시지마다 호출되므로 초당 기록 횟수 제한
+    private final LogSampler sendLogSampler = new LogSampler(5);
+
+    // CONNECT에서 검증한 사용자와 토큰 만료 시각을 저장하는 세션 속성 키
+    static final String SESSION_PRINCIPAL = "stomp.principal";
+    static final String SESSION_TOKEN_EXPIRES_AT = "stomp.tokenExpiresAt";
+    private static final String USER_DESTINATION_PREFIX = "/user/";
 
     private final JWTUtil jwtUtil;
     private final ChatService chatService;
@@ -42,87 +53,78 @@ public class StompHandler implements ChannelInterceptor {
         try {
             if (StompCommand.CONNECT.equals(accessor.getCommand())) {
                 logger.debug("[STOMP CONNECT] 토큰 검증 시작...");
-                
+
+                // CONNECT에서 설정한 사용자가 세션에 연결되도록 원본 메시지의 accessor 사용
+                StompHeaderAccessor connectAccessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+                if (connectAccessor == null) {
+                    connectAccessor = accessor;
+                }
+
                 // 헤더에서 Authorization 토큰 추출
-                List<String> authorization = accessor.getNativeHeader("Authorization");
-                
-                if (authorization != null && !authorization.isEmpty()) {
-                    String bearerToken = authorization.get(0);
-                    if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-                        String token = bearerToken.substring(7);
-                        logger.debug("JWT 토큰 검증: {}", token.substring(0, Math.min(token.length(), 20)) + "...");
-                        
-                        validateToken(token, accessor);
-                    }
-                } else {
+                String token = bearerToken(accessor);
+                if (token == null) {
                     logger.debug("Authorization 헤더가 없거나 비어 있습니다.");
+
+                    // 쿼리 파라미터에서 토큰 추출 시도 (백업 방식)
+                    String query = accessor.getFirstNativeHeader("query");
+                    if (query != null && query.contains("token=")) {
+                        token = extractTokenFromQuery(query);
+                        logger.debug("쿼리 파라미터에서 토큰 추출");
+                    }
                 }
-                
-                // 쿼리 파라미터에서 토큰 추출 시도 (백업 방식)
-                String query = accessor.getFirstNativeHeader("query");
-                if (query != null && query.contains("token=")) {
-                    String token = extractTokenFromQuery(query);
-                    logger.debug("쿼리 파라미터에서 토큰 추출: {}", token.substring(0, Math.min(token.length(), 20)) + "...");
-                    
-                    validateToken(token, accessor);
+
+                if (token != null) {
+                    authenticate(token, connectAccessor);
                 }
+                return message;
             }
 
             if (StompCommand.SUBSCRIBE.equals(accessor.getCommand())) {
-                System.out.println("🔐 [STOMP SUBSCRIBE] principal 기반 권한 확인...");
-
-                // 헤더에서 Authorization 토큰 추출 및 검증
-                List<String> authorization = accessor.getNativeHeader("Authorization");
-                if (authorization != null && !authorization.isEmpty()) {
-                    String bearerToken = authorization.get(0);
-                    if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-                        String token = bearerToken.substring(7);
-                        logger.debug("SUBSCRIBE 토큰 검증: {}", token.substring(0, Math.min(token.length(), 20)) + "...");
-                        validateToken(token, accessor);
-                    }
-                }
+                logger.debug("[STOMP SUBSCRIBE] principal 기반 권한 확인");
 
-                Principal principal = accessor.getUser();
+                Principal principal = sessionPrincipal(accessor);
                 if (principal == null) {
                     throw new AuthenticationServiceException("🚨 인증되지 않은 사용자입니다.");
                 }
                 String email = principal.getName();
 
                 String destination = accessor.getDestination();
+                // /user/... 목적지는 Spring이 세션 사용자 전용으로 변환하므로 인증만 확인
+                if (destination != null && destination.startsWith(USER_DESTINATION_PREFIX)) {
+                    return message;
+                }
                 Long roomId = parseRoomId(destination);
+                if (roomId == null) {
+                    throw new AuthenticationServiceException("🚨 잘못된 구독 경로입니다.");
+                }
 
-                // 채팅방 참여 여부 확인
-                if (!chatService.isRoomPaticipant(email, roomId)) {
+                // 채팅방 참여 여부 확인 (확인 중 오류가 나면 구독 거부)
+                boolean participant;
+                try {
+                    participant = chatService.isRoomPaticipant(email, roomId);
+                } catch (Exception e) {
+                    throw new AuthenticationServiceException("🚨 채팅방 권한을 확인할 수 없습니다.", e);
+                }
+                if (!participant) {
                     throw new AuthenticationServiceException("🚨 채팅방 권한이 없습니다.");
                 }
 
-                System.out.println("✅ [STOMP SUBSCRIBE] 사용자: " + email + ", roomId=" + roomId);
+                logger.debug("[STOMP SUBSCRIBE] 사용자: {}, roomId={}", email, roomId);
             }
 
             // SEND 명령어 처리 추가 (채팅 메시지 전송)
             if (StompCommand.SEND.equals(accessor.getCommand())) {
-                logger.info("🔔 [STOMP SEND] 메시지 전송 요청 감지");
-                
-                // 헤더에서 Authorization 토큰 추출 및 검증
-                List<String> authorization = accessor.getNativeHeader("Authorization");
-                if (authorization != null && !authorization.isEmpty()) {
-                    String bearerToken = authorization.get(0);
-                    if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
-                        String token = bearerToken.substring(7);
-                        logger.debug("SEND 토큰 검증: {}", token.substring(0, Math.min(token.length(), 20)) + "...");
-                        validateToken(token, accessor);
-                    }
-                }
-                
-                Principal principal = accessor.getUser();
+
+                // CONNECT에서 검증한 사용자를 그대로 사용 (토큰이 만료된 경우에만 재검증)
+                Principal principal = sessionPrincipal(accessor);
                 if (principal == null) {
                     logger.error("인증되지 않은 사용자의 메시지 전송 시도");
-                    return message;
+                    return null;
                 }
-                
+
                 String email = principal.getName();
                 String destination = accessor.getDestination();
-                
+
                 // /app/chat/1 또는 /publish/1 형식의 메시지 전송 경로에서 방 ID 추출
                 if (destination != null && (destination.startsWith("/app/chat/") || destination.startsWith("/publish/"))) {
                     try {
@@ -132,29 +134,65 @@ public class StompHandler implements ChannelInterceptor {
                         } else {
                             roomId = Long.parseLong(destination.substring("/publish/".length()));
                         }
-                        logger.info("메시지 전송 확인: 사용자={}, 채팅방={}, 경로={}", email, roomId, destination);
-                        
-                        // 여기서는 메시지 내용 로깅만 수행 (실제 저장은 컨트롤러에서)
-                        logger.debug("메시지 내용: {}", new String((byte[]) message.getPayload()));
+                        // 메시지 본문은 복사/기록하지 않음 (실제 저장은 컨트롤러에서)
+                        if (logger.isDebugEnabled() && sendLogSampler.tryAcquire()) {
+                            logger.debug("[STOMP SEND] 사용자={}, 채팅방={}, 경로={}", email, roomId, destination);
+                        }
                     } catch (Exception e) {
                         logger.error("메시지 처리 중 오류: {}", e.getMessage());
                     }
                 }
             }
+        } catch (AuthenticationException e) {
+            // 인증/권한 오류는 그대로 던져 프레임을 거부 (클라이언트에는 ERROR 프레임 전송)
+            logger.debug("STOMP {} 거부: {}", accessor.getCommand(), e.getMessage());
+            throw e;
         } catch (Exception e) {
             logger.error("STOMP 메시지 처리 중 오류 발생", e);
         }
-        
+
         return message;
     }
-    
-    private void validateToken(String token, StompHeaderAccessor accessor) {
+
+    /**
+     * 🔹 CONNECT에서 저장한 세션 사용자 조회
+     * - 토큰이 만료되지 않았으면 JWT 파싱/서명 검증 없이 그대로 사용
+     * - 만료되었으면 프레임의 Authorization 헤더로 재검증 (같은 사용자일 때만 갱신), 없으면 null
+     */
+    private Principal sessionPrincipal(StompHeaderAccessor accessor) {
+        Map<String, Object> attributes = accessor.getSessionAttributes();
+        if (attributes == null || !(attributes.get(SESSION_PRINCIPAL) instanceof Principal principal)) {
+            return accessor.getUser();
+        }
+        Object expiresAt = attributes.get(SESSION_TOKEN_EXPIRES_AT);
+        if (expiresAt instanceof Long expiresAtMs && expiresAtMs > System.currentTimeMillis()) {
+            return principal;
+        }
+
+        String token = bearerToken(accessor);
+        if (token == null) {
+            logger.debug("세션 토큰이 만료되었습니다: {}", principal.getName());
+            return null;
+        }
+        Principal renewed = authenticate(token, accessor);
+        if (renewed == null || !renewed.getName().equals(principal.getName())) {
+            logger.debug("세션 토큰 재검증 실패: {}", principal.getName());
+            return null;
+        }
+        return renewed;
+    }
+
+    /**
+     * 🔹 토큰 검증 후 사용자와 토큰 만료 시각을 세션 속성에 저장
+     */
+    private Principal authenticate(String token, StompHeaderAccessor accessor) {
         try {
-            if (!jwtUtil.isExpired(token)) {
-                String username = jwtUtil.getUsername(token);
-                String role = jwtUtil.getRole(token);
+            JwtClaims claims = jwtUtil.parse(token);
+            if (!claims.isExpired()) {
+                String username = claims.username();
+                String role = claims.role();
                 logger.debug("토큰 검증 성공! 사용자: {}, 역할: {}", username, role);
-                
+
                 // 인증 정보 저장
                 UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                     username,
@@ -162,14 +200,30 @@ public class StompHandler implements ChannelInterceptor {
                     Collections.singletonList(new SimpleGrantedAuthority(role))
                 );
                 accessor.setUser(auth);
+                Map<String, Object> attributes = accessor.getSessionAttributes();
+                if (attributes != null) {
+                    attributes.put(SESSION_PRINCIPAL, auth);
+                    attributes.put(SESSION_TOKEN_EXPIRES_AT, claims.expiration().getTime());
+                }
+                return auth;
             } else {
                 logger.debug("토큰이 만료되었습니다.");
             }
         } catch (Exception e) {
             logger.error("토큰 검증 오류: {}", e.getMessage());
         }
+        return null;
     }
-    
+
+    // Authorization: Bearer {token} 헤더에서 토큰 추출
+    private String bearerToken(StompHeaderAccessor accessor) {
+        String bearerToken = accessor.getFirstNativeHeader("Authorization");
+        if (bearerToken != null && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+
     // 쿼리 문자열에서 토큰 추출
     private String extractTokenFromQuery(String query) {
         int tokenIndex = query.indexOf("token=");
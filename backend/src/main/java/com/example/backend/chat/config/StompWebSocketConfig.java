@@ -1,24 +1,68 @@
 package com.example.backend.chat.config;
 
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.messaging.converter.MappingJackson2MessageConverter;
 import org.springframework.messaging.converter.MessageConverter;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.scheduling.TaskScheduler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
 import org.springframework.lang.NonNull;
 
 import java.util.List;
 
+/**
+ * 📌 STOMP 웹소켓 설정 (애플리케이션의 유일한 @EnableWebSocketMessageBroker 설정)
+ * - 엔드포인트 /connect (SockJS), 발행 /publish, 구독 /topic, /queue, 사용자 목적지 /user
+ * - clientInbound/clientOutbound 채널 스레드 풀과 전송 버퍼/시간 제한은 chat.websocket.* 설정으로 조정
+ * - 스레드 풀 크기가 0이면 CPU 코어 수 기준 기본값 사용
+ * - 채널 스레드 풀 지표는 WebSocketChannelMetrics에서 수집
+ * - @MessageMapping 이후 저장/발행은 채팅방별 mailbox(ChatRoomMailbox)에서 처리 (chat.websocket.inbound.virtual-threads)
+ */
 @Configuration
 @EnableWebSocketMessageBroker
 public class StompWebSocketConfig implements WebSocketMessageBrokerConfigurer {
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
     private final StompHandler stompHandler;
+    private final ChatBrokerProperties chatBrokerProperties;
+    private final TaskScheduler messageBrokerTaskScheduler;
+
+    @Value("${chat.websocket.inbound.core-pool-size:0}")
+    private int inboundCorePoolSize;
+    @Value("${chat.websocket.inbound.max-pool-size:0}")
+    private int inboundMaxPoolSize;
+    @Value("${chat.websocket.inbound.queue-capacity:10000}")
+    private int inboundQueueCapacity;
+
+    @Value("${chat.websocket.outbound.core-pool-size:0}")
+    private int outboundCorePoolSize;
+    @Value("${chat.websocket.outbound.max-pool-size:0}")
+    private int outboundMaxPoolSize;
+    @Value("${chat.websocket.outbound.queue-capacity:10000}")
+    private int outboundQueueCapacity;
+
+    @Value("${chat.websocket.message-size-limit:65536}")
+    private int messageSizeLimit;
+    @Value("${chat.websocket.send-buffer-size-limit:524288}")
+    private int sendBufferSizeLimit;
+    @Value("${chat.websocket.send-time-limit-ms:10000}")
+    private int sendTimeLimitMs;
+    @Value("${chat.websocket.sockjs-heartbeat-ms:10000}")
+    private long sockJsHeartbeatMs;
 
-    public StompWebSocketConfig(StompHandler stompHandler) {
+    // messageBrokerTaskScheduler는 이 설정 클래스가 만드는 빈이므로 @Lazy로 주입 (simple broker heartbeat용)
+    public StompWebSocketConfig(StompHandler stompHandler, ChatBrokerProperties chatBrokerProperties,
+                                @Lazy @Qualifier("messageBrokerTaskScheduler") TaskScheduler messageBrokerTaskScheduler) {
         this.stompHandler = stompHandler;
+        this.chatBrokerProperties = chatBrokerProperties;
+        this.messageBrokerTaskScheduler = messageBrokerTaskScheduler;
     }
 
     @Override
@@ -26,7 +70,10 @@ public class StompWebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/connect")
                 .setAllowedOrigins("http://localhost:5173")
 //                ws://가 아닌 http:// 엔드포인트를 사용할수 있게 해주는 sockJs라이브러리를 통한 요청을 허용하는 설정.
-                .withSockJS();
+                .withSockJS()
+                .setHeartbeatTime(sockJsHeartbeatMs);
+//        같은 세션에서 들어온 프레임은 도착 순서대로 처리 (채팅방 mailbox(ChatRoomMailbox)로 넘기기 전 순서 보장)
+        registry.setPreserveReceiveOrder(true);
     }
 
     @Override
@@ -35,9 +82,9 @@ public class StompWebSocketConfig implements WebSocketMessageBrokerConfigurer {
 //        /publish로 시작하는 url패턴으로 메시지가 발행되면 @Controller 객체의 @MessaMapping메서드로 라우팅
         registry.setApplicationDestinationPrefixes("/publish");
 
-//        /topic/1형태로 메시지를 수신(subscribe)해야 함을 설정
-        registry.enableSimpleBroker("/topic");
-
+//        /topic/1형태로 메시지를 수신(subscribe)해야 함을 설정 (chat.broker.mode에 따라 simple broker 또는 외부 브로커 relay)
+        chatBrokerProperties.configure(registry, messageBrokerTaskScheduler, "/topic", "/queue");
+        registry.setUserDestinationPrefix("/user");
     }
 
 
@@ -45,6 +92,27 @@ public class StompWebSocketConfig implements WebSocketMessageBrokerConfigurer {
     @Override
     public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
         registration.interceptors(stompHandler);
+        registration.taskExecutor()
+                .corePoolSize(orDefault(inboundCorePoolSize, CORES * 2))
+                .maxPoolSize(orDefault(inboundMaxPoolSize, CORES * 4))
+                .queueCapacity(inboundQueueCapacity);
+    }
+
+//    구독자에게 메시지를 내려보내는 채널 : 느린 클라이언트가 전송 스레드를 오래 점유하지 않도록 transport 제한과 함께 설정
+    @Override
+    public void configureClientOutboundChannel(@NonNull ChannelRegistration registration) {
+        registration.taskExecutor()
+                .corePoolSize(orDefault(outboundCorePoolSize, CORES * 2))
+                .maxPoolSize(orDefault(outboundMaxPoolSize, CORES * 4))
+                .queueCapacity(outboundQueueCapacity);
+    }
+
+//    세션별 전송 버퍼/시간 제한 : 초과하면 해당 세션만 종료하여 다른 구독자 전송이 지연되지 않도록 함
+    @Override
+    public void configureWebSocketTransport(@NonNull WebSocketTransportRegistration registration) {
+        registration.setMessageSizeLimit(messageSizeLimit)
+                .setSendBufferSizeLimit(sendBufferSizeLimit)
+                .setSendTimeLimit(sendTimeLimitMs);
     }
 
     // 메시지 컨버터 설정 - UTF-8 인코딩 처리
@@ -54,4 +122,8 @@ public class StompWebSocketConfig implements WebSocketMessageBrokerConfigurer {
         messageConverters.add(converter);
         return false; // false 반환하면 기본 컨버터도 유지됨
     }
+
+    private static int orDefault(int configured, int defaultValue) {
+        return configured > 0 ? configured : defaultValue;
+    }
 }
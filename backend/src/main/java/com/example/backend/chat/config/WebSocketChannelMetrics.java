@@ -0,0 +1,69 @@
+package com.example.backend.chat.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.lang.NonNull;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 📌 STOMP 채널 스레드 풀 지표
+ * - chat.websocket.executor.* (Micrometer ExecutorServiceMetrics): 활성 스레드, 풀 크기, 대기 작업 수(queue depth), 완료 작업 수
+ * - chat.websocket.executor.saturation: 활성 스레드 / 최대 스레드 (1이면 포화)
+ * - chat.websocket.executor.queue.utilization: 대기열 사용률 (1이면 가득 참, 이후 작업 거부)
+ * - name 태그: clientInbound, clientOutbound, broker
+ */
+@Component
+public class WebSocketChannelMetrics implements MeterBinder {
+
+    private final ThreadPoolTaskExecutor inboundExecutor;
+    private final ThreadPoolTaskExecutor outboundExecutor;
+    private final ThreadPoolTaskExecutor brokerExecutor;
+
+    public WebSocketChannelMetrics(
+            @Qualifier("clientInboundChannelExecutor") ThreadPoolTaskExecutor inboundExecutor,
+            @Qualifier("clientOutboundChannelExecutor") ThreadPoolTaskExecutor outboundExecutor,
+            @Qualifier("brokerChannelExecutor") ThreadPoolTaskExecutor brokerExecutor) {
+        this.inboundExecutor = inboundExecutor;
+        this.outboundExecutor = outboundExecutor;
+        this.brokerExecutor = brokerExecutor;
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        bind(registry, "clientInbound", inboundExecutor);
+        bind(registry, "clientOutbound", outboundExecutor);
+        bind(registry, "broker", brokerExecutor);
+    }
+
+    private void bind(MeterRegistry registry, String name, ThreadPoolTaskExecutor taskExecutor) {
+        ThreadPoolExecutor executor = taskExecutor.getThreadPoolExecutor();
+        Tags tags = Tags.of("name", name);
+
+        new ExecutorServiceMetrics(executor, name, "chat.websocket", Tags.empty()).bindTo(registry);
+
+        Gauge.builder("chat.websocket.executor.saturation", executor,
+                        e -> (double) e.getActiveCount() / Math.max(1, e.getMaximumPoolSize()))
+                .tags(tags)
+                .description("활성 스레드 / 최대 스레드")
+                .register(registry);
+        Gauge.builder("chat.websocket.executor.queue.utilization", executor, WebSocketChannelMetrics::queueUtilization)
+                .tags(tags)
+                .description("채널 작업 대기열 사용률")
+                .register(registry);
+    }
+
+    private static double queueUtilization(ThreadPoolExecutor executor) {
+        BlockingQueue<Runnable> queue = executor.getQueue();
+        int size = queue.size();
+        int capacity = size + queue.remainingCapacity();
+        return capacity == 0 ? 0 : (double) size / capacity;
+    }
+}
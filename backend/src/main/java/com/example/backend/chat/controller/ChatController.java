@@ -1,21 +1,29 @@
 package com.example.backend.chat.controller;
 
 import com.example.backend.chat.dto.ChatMessageDto;
+import com.example.backend.chat.service.ChatMessageTransport;
+import com.example.backend.chat.service.ChatPresenceService;
 import com.example.backend.chat.service.ChatService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/chat")
 public class ChatController {
     private final ChatService chatService;
+    private final ChatMessageTransport chatMessageTransport;
+    private final ChatPresenceService chatPresenceService;
 
-    public ChatController(ChatService chatService) {
+    public ChatController(ChatService chatService, ChatMessageTransport chatMessageTransport, ChatPresenceService chatPresenceService) {
         this.chatService = chatService;
+        this.chatMessageTransport = chatMessageTransport;
+        this.chatPresenceService = chatPresenceService;
     }
 
 //    그룹채팅방 개설
@@ -54,6 +62,61 @@ public class ChatController {
         return new ResponseEntity<>(chatMessageDtos, HttpStatus.OK);
     }
 
+//    이전 메시지 조회 (커서 기반 페이지네이션) : beforeId 이전 메시지를 size개씩
+    @GetMapping("/history/{roomId}/messages")
+    public ResponseEntity<?> getChatHistoryPage(
+            @PathVariable Long roomId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "30") int size){
+        // 페이지 크기 제한
+        if (size < 1) {
+            size = 1;
+        } else if (size > 100) {
+            size = 100;
+        }
+        Map<String, Object> result = chatService.getChatHistory(roomId, beforeId, size);
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+//    최근 메시지 조회 (재접속 시) : Redis Streams 전달 모드면 스트림에서, 아니면 DB에서 조회
+    @GetMapping("/history/{roomId}/recent")
+    public ResponseEntity<?> getRecentMessages(
+            @PathVariable Long roomId,
+            @RequestParam(defaultValue = "50") int count){
+        if (count < 1) {
+            count = 1;
+        } else if (count > 100) {
+            count = 100;
+        }
+        chatService.validateParticipant(roomId);
+        Optional<List<ChatMessageDto>> recent = chatMessageTransport.recentMessages(roomId, count);
+        if (recent.isPresent()) {
+            Map<String, Object> result = new HashMap<>();
+            result.put("messages", recent.get());
+            result.put("source", "stream");
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        }
+        return new ResponseEntity<>(chatService.getChatHistory(roomId, null, count), HttpStatus.OK);
+    }
+
+//    접속 중인 사용자 수 (전체 노드)
+    @GetMapping("/presence/online")
+    public ResponseEntity<?> getOnlineCount(){
+        Map<String, Object> result = new HashMap<>();
+        result.put("onlineUsers", chatPresenceService.getOnlineCount());
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+//    채팅방을 보고 있는 사용자 수 (전체 노드)
+    @GetMapping("/room/{roomId}/online")
+    public ResponseEntity<?> getRoomOnlineCount(@PathVariable Long roomId){
+        chatService.validateParticipant(roomId);
+        Map<String, Object> result = new HashMap<>();
+        result.put("roomId", roomId);
+        result.put("onlineUsers", chatPresenceService.getRoomOnlineCount(roomId));
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
 //    채팅메시지 읽음처리
     @PostMapping("/room/{roomId}/read")
     public ResponseEntity<?> messageRead(@PathVariable Long roomId){
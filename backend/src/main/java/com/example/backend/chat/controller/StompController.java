@@ -1,27 +1,28 @@
 package com.example.backend.chat.controller;
 
 import com.example.backend.chat.dto.ChatMessageDto;
-import com.example.backend.chat.service.ChatService;
-import com.example.backend.chat.service.RedisPubSubService;
+import com.example.backend.chat.service.ChatMetrics;
+import com.example.backend.chat.service.ChatRoomMailbox;
+import com.example.backend.common.logging.LogSampler;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.stereotype.Controller;
 
-import java.nio.charset.StandardCharsets;
-
+@Slf4j
 @Controller
 public class StompController {
 
-    private final ChatService chatService;
-    private final RedisPubSubService pubSubService;
-    private final ObjectMapper objectMapper;
+    private final ChatRoomMailbox chatRoomMailbox;
+    private final ChatMetrics chatMetrics;
+    // 메시지마다 로그를 남기지 않도록 초당 기록 횟수 제한
+    private final LogSampler receiveLogSampler = new LogSampler(5);
+    private final LogSampler errorLogSampler = new LogSampler(10);
 
-    public StompController(ChatService chatService, RedisPubSubService pubSubService, ObjectMapper objectMapper) {
-        this.chatService = chatService;
-        this.pubSubService = pubSubService;
-        this.objectMapper = objectMapper;
+    public StompController(ChatRoomMailbox chatRoomMailbox, ChatMetrics chatMetrics) {
+        this.chatRoomMailbox = chatRoomMailbox;
+        this.chatMetrics = chatMetrics;
     }
 ////    방법1.MessageMapping(수신)과 SenTo(topic에 메시지전달)한꺼번에 처리
 //    @MessageMapping("/{roomId}") //클라이언트에서 특정 publish/roomId형태로 메시지를 발행시 MessageMapping 수신
@@ -41,23 +42,13 @@ public class StompController {
 // //        messageTemplate.convertAndSend("/topic/"+roomId, chatMessageReqDto);
 //         ObjectMapper objectMapper = new ObjectMapper();
 //         String message = objectMapper.writeValueAsString(chatMessageReqDto);
-//         pubSubService.publish("chat", message);
+//         chatMessageTransport.publish("chat", message);
 //     }
 
     @MessageMapping("/{roomId}")
     public void sendMessage(@DestinationVariable Long roomId, ChatMessageDto chatMessageReqDto) throws JsonProcessingException {
         try {
-            System.out.println("📩 메시지 수신: " + chatMessageReqDto);
-            
-            // 메시지 내용을 UTF-8로 명시적 변환하여 인코딩 문제 확인
-            String originalMessage = chatMessageReqDto.getMessage();
-            byte[] messageBytes = originalMessage != null ? originalMessage.getBytes(StandardCharsets.UTF_8) : new byte[0];
-            String utf8Message = new String(messageBytes, StandardCharsets.UTF_8);
-            System.out.println("🔤 원본 메시지: " + originalMessage);
-            System.out.println("🔤 UTF-8 인코딩 메시지: " + utf8Message);
-            
-            // UTF-8로 인코딩된 메시지로 교체
-            chatMessageReqDto.setMessage(utf8Message);
+            chatMetrics.getReceived().increment();
 
             if (roomId == null) {
                 throw new IllegalArgumentException("🚨 roomId가 null입니다!");
@@ -74,21 +65,20 @@ public class StompController {
                     email = email.replace("@oauth.user", "");
                     chatMessageReqDto.setSenderEmail(email);
                 }
-                
-                System.out.println("🔄 메시지 발신자 이메일 확인: " + email);
             }
 
-            chatService.saveMessage(roomId, chatMessageReqDto);
-            chatMessageReqDto.setRoomId(roomId);
+            // 메시지 본문은 기록하지 않고 길이만 기록
+            if (log.isDebugEnabled() && receiveLogSampler.tryAcquire()) {
+                log.debug("채팅 메시지 수신: roomId={}, sender={}, length={}",
+                        roomId, email, chatMessageReqDto.getMessage().length());
+            }
 
-            // ObjectMapper에 UTF-8 설정 적용하여 인코딩 문제 해결
-            objectMapper.getFactory().setCharacterEscapes(null);
-            String message = objectMapper.writeValueAsString(chatMessageReqDto);
-            System.out.println("📤 발송할 JSON 메시지: " + message);
-            pubSubService.publish("chat", message);
+            // 저장/발행은 채팅방의 mailbox에서 도착 순서대로 처리 (inbound 채널 스레드는 바로 반환)
+            chatRoomMailbox.submit(roomId, chatMessageReqDto);
         } catch (Exception e) {
-            System.out.println("🔥 STOMP 메시지 처리 중 오류 발생: " + e.getMessage());
-            e.printStackTrace(); // 자세한 오류 스택 추적 출력
+            if (errorLogSampler.tryAcquire()) {
+                log.error("STOMP 메시지 처리 중 오류 발생: roomId={}, 오류={}", roomId, e.getMessage(), e);
+            }
         }
     }
 
@@ -12,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_chat_message_room_id", columnList = "chat_room_id, id"))
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
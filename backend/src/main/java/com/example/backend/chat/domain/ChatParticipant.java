@@ -27,5 +27,17 @@ public class ChatParticipant  extends BaseTimeEntity {
     @JoinColumn(name = "member_id", nullable = false)
     private UserEntity member;
 
+    // 마지막으로 읽은 메시지 ID (이 ID보다 큰 메시지가 안 읽은 메시지, 메시지가 없는 채팅방에 참여하면 0)
+    // null은 읽음 커서 도입 전 참여자 → ReadCursorMigrationService에서 한 번 초기화
+    @Builder.Default
+    private Long lastReadMessageId = 0L;
 
+    public void updateLastReadMessageId(Long lastReadMessageId){
+        if (lastReadMessageId == null) {
+            return;
+        }
+        if (this.lastReadMessageId == null || this.lastReadMessageId < lastReadMessageId) {
+            this.lastReadMessageId = lastReadMessageId;
+        }
+    }
 }
@@ -24,6 +24,9 @@ public class ChatRoom  extends BaseTimeEntity {
     @Builder.Default
     private String isGroupChat="N";
 
+    // 마지막 메시지 ID (내 채팅방 목록을 최근 활동순으로 정렬할 때 사용, ChatRoomRepository.advanceLastMessageId로만 갱신)
+    private Long lastMessageId;
+
     @OneToMany(mappedBy = "chatRoom", cascade = CascadeType.REMOVE)
     @Builder.Default
     private List<ChatParticipant> chatParticipants = new ArrayList<>();
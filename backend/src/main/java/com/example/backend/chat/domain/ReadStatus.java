@@ -8,6 +8,11 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+/**
+ * 메시지 x 참여자 단위의 기존 읽음 상태 (레거시)
+ * - 읽음 처리는 ChatParticipant.lastReadMessageId 커서로 대체됨
+ * - 기존 데이터를 커서로 옮기는 마이그레이션에서만 사용
+ */
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
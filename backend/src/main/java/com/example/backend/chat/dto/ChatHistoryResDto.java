@@ -0,0 +1,20 @@
+package com.example.backend.chat.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ChatHistoryResDto {
+    private Long messageId;
+    private Long roomId;
+    private String message;
+    private String senderEmail;
+    private LocalDateTime createdTime;
+}
@@ -1,13 +1,45 @@
 package com.example.backend.chat.repository;
 
 import com.example.backend.chat.domain.ChatMessage;
-import com.example.backend.chat.domain.ChatRoom;
+import com.example.backend.chat.dto.ChatHistoryResDto;
+import com.example.backend.chat.dto.ChatMessageDto;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
-    List<ChatMessage> findByChatRoomOrderByCreatedTimeAsc(ChatRoom chatRoom);
+
+    /**
+     * 채팅방 전체 메시지 조회 (보낸 사람 이메일을 한 번의 조인으로 함께 조회)
+     */
+    @Query("SELECT new com.example.backend.chat.dto.ChatMessageDto(m.chatRoom.id, m.content, mem.email) " +
+            "FROM ChatMessage m JOIN m.member mem WHERE m.chatRoom.id = :roomId ORDER BY m.id ASC")
+    List<ChatMessageDto> findHistoryByChatRoomId(@Param("roomId") Long roomId);
+
+    /**
+     * 커서(beforeId) 이전 메시지를 최신순으로 조회 (keyset 페이지네이션)
+     * - (chat_room_id, id) 인덱스를 역순으로 읽으므로 offset 없이 필요한 개수만 조회
+     */
+    @Query("SELECT new com.example.backend.chat.dto.ChatHistoryResDto(m.id, m.chatRoom.id, m.content, mem.email, m.createdTime) " +
+            "FROM ChatMessage m JOIN m.member mem WHERE m.chatRoom.id = :roomId AND m.id < :beforeId ORDER BY m.id DESC")
+    List<ChatHistoryResDto> findHistoryBefore(@Param("roomId") Long roomId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+    /**
+     * 채팅방의 마지막 메시지 ID 조회 (chat_room_id, id 인덱스 사용)
+     */
+    @Query("SELECT MAX(m.id) FROM ChatMessage m WHERE m.chatRoom.id = :roomId")
+    Long findLastMessageIdByChatRoomId(@Param("roomId") Long roomId);
+
+    /**
+     * 읽음 커서 이후부터 upToMessageId까지 다른 사람이 보낸 메시지 수 조회
+     * - upToMessageId를 함께 넘겨 개수와 "계산에 포함된 마지막 메시지 ID"가 항상 같은 범위를 가리키도록 함
+     */
+    @Query("SELECT COUNT(m) FROM ChatMessage m WHERE m.chatRoom.id = :roomId AND m.id > :lastReadMessageId AND m.id <= :upToMessageId AND m.member.id <> :memberId")
+    long countUnreadMessages(@Param("roomId") Long roomId, @Param("memberId") Long memberId,
+                             @Param("lastReadMessageId") Long lastReadMessageId, @Param("upToMessageId") Long upToMessageId);
 }
@@ -2,10 +2,14 @@ package com.example.backend.chat.repository;
 
 import com.example.backend.chat.domain.ChatParticipant;
 import com.example.backend.chat.domain.ChatRoom;
+import com.example.backend.chat.dto.MyChatListResDto;
 import com.example.backend.securitylogin.entity.UserEntity;
-import io.lettuce.core.dynamic.annotation.Param;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,7 +20,41 @@ public interface ChatParticipantRepository extends JpaRepository<ChatParticipant
     List<ChatParticipant> findByChatRoom(ChatRoom chatRoom);
     Optional<ChatParticipant> findByChatRoomAndMember(ChatRoom chatRoom, UserEntity member);
     List<ChatParticipant> findAllByMember(UserEntity member);
+    boolean existsByChatRoomIdAndMemberEmail(Long chatRoomId, String email);
+
+    @Query("SELECT cp.member.id FROM ChatParticipant cp WHERE cp.chatRoom.id = :roomId")
+    List<Long> findMemberIdsByChatRoomId(@Param("roomId") Long roomId);
+
+    /**
+     * 내 채팅방 목록 조회 (이름 검색, 최근 활동순 정렬, 페이지네이션을 모두 DB에서 처리)
+     * - 안 읽은 메시지 수는 읽음 커서 이후 메시지 수를 서브쿼리로 함께 계산
+     * - keyword가 null이면 전체 조회, keyword는 '!'로 이스케이프된 값 (ChatService에서 처리)
+     */
+    @Query(value = "SELECT new com.example.backend.chat.dto.MyChatListResDto(r.id, r.name, r.isGroupChat, " +
+            "(SELECT COUNT(m) FROM ChatMessage m WHERE m.chatRoom.id = r.id AND m.id > COALESCE(cp.lastReadMessageId, 0) AND m.member.id <> cp.member.id)) " +
+            "FROM ChatParticipant cp JOIN cp.chatRoom r " +
+            "WHERE cp.member.id = :memberId AND (:keyword IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :keyword, '%')) ESCAPE '!') " +
+            "ORDER BY COALESCE(r.lastMessageId, 0) DESC, r.id DESC",
+            countQuery = "SELECT COUNT(cp) FROM ChatParticipant cp JOIN cp.chatRoom r " +
+            "WHERE cp.member.id = :memberId AND (:keyword IS NULL OR LOWER(r.name) LIKE LOWER(CONCAT('%', :keyword, '%')) ESCAPE '!')")
+    Page<MyChatListResDto> findMyChatRooms(@Param("memberId") Long memberId, @Param("keyword") String keyword, Pageable pageable);
 
     @Query("SELECT cp1.chatRoom FROM ChatParticipant cp1 JOIN ChatParticipant cp2 ON cp1.chatRoom.id = cp2.chatRoom.id WHERE cp1.member.id = :myId AND cp2.member.id = :otherMemberId AND cp1.chatRoom.isGroupChat = 'N'")
     Optional<ChatRoom> findExistingPrivateRoom(@Param("myId") Long myId, @Param("otherMemberId") Long otherMemberId);
+
+    boolean existsByLastReadMessageIdIsNull();
+
+    /**
+     * 기존 read_status 데이터로 읽음 커서 초기화 (커서가 비어 있는 참여자만, ReadCursorMigrationService에서 한 번만 실행)
+     * - 안 읽은 메시지가 있으면: 가장 오래된 안 읽은 메시지 직전까지 읽은 것으로 처리
+     * - 모두 읽었으면: 마지막으로 기록된 메시지까지 읽은 것으로 처리
+     * - 읽음 기록이 없으면: 채팅방의 마지막 메시지까지 읽은 것으로 처리 (기존에도 안 읽은 메시지 0개였음)
+     */
+    @Modifying
+    @Query(value = "UPDATE chat_participant cp SET cp.last_read_message_id = COALESCE(" +
+            "(SELECT MIN(rs.chat_message_id) - 1 FROM read_status rs WHERE rs.chat_room_id = cp.chat_room_id AND rs.member_id = cp.member_id AND rs.is_read = false), " +
+            "(SELECT MAX(rs.chat_message_id) FROM read_status rs WHERE rs.chat_room_id = cp.chat_room_id AND rs.member_id = cp.member_id), " +
+            "(SELECT MAX(m.id) FROM chat_message m WHERE m.chat_room_id = cp.chat_room_id), " +
+            "0) WHERE cp.last_read_message_id IS NULL", nativeQuery = true)
+    int migrateReadCursorsFromReadStatus();
 }
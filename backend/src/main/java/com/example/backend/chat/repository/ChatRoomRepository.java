@@ -4,6 +4,9 @@ import com.example.backend.chat.domain.ChatRoom;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,4 +19,21 @@ public interface ChatRoomRepository extends JpaRepository<ChatRoom, Long> {
     
     // 그룹 채팅방 중 이름으로 검색
     Page<ChatRoom> findByIsGroupChatAndNameContainingIgnoreCase(String isGroupChat, String keyword, Pageable pageable);
+
+    /**
+     * 채팅방의 마지막 메시지 ID를 더 큰 값일 때만 갱신
+     * - 늦게 커밋된 트랜잭션이 더 작은 ID로 되돌리지 않도록 조건부 UPDATE
+     * - 엔티티 변경 감지 대신 직접 UPDATE하여 updatedTime 등 다른 컬럼은 건드리지 않음
+     */
+    @Modifying
+    @Query("UPDATE ChatRoom r SET r.lastMessageId = :messageId WHERE r.id = :roomId AND (r.lastMessageId IS NULL OR r.lastMessageId < :messageId)")
+    int advanceLastMessageId(@Param("roomId") Long roomId, @Param("messageId") Long messageId);
+
+    /**
+     * 마지막 메시지 ID가 비어 있는 채팅방을 기존 메시지로 채움 (ChatRoomLastMessageMigrationService에서 한 번만 실행)
+     */
+    @Modifying
+    @Query(value = "UPDATE chat_room r SET r.last_message_id = " +
+            "(SELECT MAX(m.id) FROM chat_message m WHERE m.chat_room_id = r.id) WHERE r.last_message_id IS NULL", nativeQuery = true)
+    int backfillLastMessageIds();
 }
@@ -0,0 +1,36 @@
+package com.example.backend.chat.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+/**
+ * 📌 외부 STOMP 브로커 relay 모드의 메시지 전달 (chat.broker.mode=relay)
+ * - 구독은 모두 외부 브로커에 있으므로 Redis를 거치지 않고 브로커로 바로 전송
+ * - 브로커가 모든 노드의 구독자에게 fan-out 하므로 채팅방별 구독/해제는 필요 없음
+ */
+@Primary
+@Service
+@ConditionalOnProperty(name = "chat.broker.mode", havingValue = "relay")
+public class BrokerRelayTransport implements ChatMessageTransport {
+
+    private final ChatMessageDeliveryService deliveryService;
+
+    public BrokerRelayTransport(ChatMessageDeliveryService deliveryService) {
+        this.deliveryService = deliveryService;
+    }
+
+    @Override
+    public void publish(Long roomId, byte[] payload) {
+        // /topic/{roomId}로 전송하면 relay가 외부 브로커로 SEND
+        deliveryService.deliver(roomId, payload);
+    }
+
+    @Override
+    public void subscribeRoom(Long roomId) {
+    }
+
+    @Override
+    public void unsubscribeRoom(Long roomId) {
+    }
+}
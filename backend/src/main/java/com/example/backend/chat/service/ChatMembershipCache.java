@@ -0,0 +1,207 @@
+package com.example.backend.chat.service;
+
+import com.example.backend.chat.repository.ChatParticipantRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📌 채팅방 참여 여부 캐시 (STOMP SUBSCRIBE 권한 확인용)
+ * - 1차: 프로세스 내 LRU + TTL 캐시 (roomId, email) -> 참여 여부
+ *   → 참여 중(true)은 ttl-seconds, 참여하지 않음(false)은 negative-ttl-ms(기본 1초)만 캐시
+ *     (다른 노드에서 막 참여한 사용자가 이 노드에서 오래 거절되지 않도록)
+ * - 2차(선택): Redis Set chat:members:{roomId} + 버전 chat:members:{roomId}:version (chat.membership-cache.redis-enabled=true)
+ * - 캐시에 없으면 exists 쿼리 한 번으로 확인
+ * - 참여/나가기/1:1 채팅방 생성 시 트랜잭션 커밋 후 무효화
+ * - 무효화마다 세대(generation/version)를 올리고, 조회를 시작한 뒤 세대가 바뀌었으면 조회 결과를 캐시하지 않음
+ *   → 무효화 전에 시작한 조회가 무효화 이후에 오래된 값을 다시 저장하지 않음
+ */
+@Slf4j
+@Component
+public class ChatMembershipCache {
+
+    private static final String MEMBERS_KEY_PREFIX = "chat:members:"; // 🔹 Redis Key Prefix
+    private static final String MEMBERS_TTL_SECONDS = String.valueOf(TimeUnit.DAYS.toSeconds(1));
+
+    // 🔹 버전이 조회 시작 때와 같을 때만 참여자 추가
+    // KEYS[1]=chat:members:{roomId}, KEYS[2]=chat:members:{roomId}:version, ARGV[1]=조회 시작 때 버전, ARGV[2]=email, ARGV[3]=TTL(초)
+    private static final RedisScript<Long> ADD_SCRIPT = new DefaultRedisScript<>(
+            "if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[1] then return 0 end " +
+            "redis.call('SADD', KEYS[1], ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[3]) " +
+            "return 1", Long.class);
+
+    // 🔹 버전을 올리고 참여자 제거 (ARGV[1]이 비어 있으면 채팅방 전체 삭제)
+    // KEYS[1]=chat:members:{roomId}, KEYS[2]=chat:members:{roomId}:version, ARGV[1]=email, ARGV[2]=TTL(초)
+    private static final RedisScript<Long> INVALIDATE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('INCR', KEYS[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[2]) " +
+            "if ARGV[1] == '' then return redis.call('DEL', KEYS[1]) end " +
+            "return redis.call('SREM', KEYS[1], ARGV[1])", Long.class);
+
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final boolean redisEnabled;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final Map<String, CachedMembership> localCache;
+    // 🔹 무효화할 때마다 증가 (localCache로 동기화)
+    private long generation;
+
+    public ChatMembershipCache(
+            ChatParticipantRepository chatParticipantRepository,
+            RedisTemplate<String, String> redisTemplate,
+            @Value("${chat.membership-cache.redis-enabled:false}") boolean redisEnabled,
+            @Value("${chat.membership-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${chat.membership-cache.negative-ttl-ms:1000}") long negativeTtlMillis,
+            @Value("${chat.membership-cache.max-size:10000}") int maxSize) {
+        this.chatParticipantRepository = chatParticipantRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisEnabled = redisEnabled;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.negativeTtlMillis = negativeTtlMillis;
+        // 🔹 접근 순서 기반 LinkedHashMap으로 LRU 구현 (최대 크기 초과 시 가장 오래 사용하지 않은 항목 제거)
+        this.localCache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedMembership> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 🔹 채팅방 참여 여부 확인
+     */
+    public boolean isMember(Long roomId, String email) {
+        String localKey = localKey(roomId, email);
+        long now = System.currentTimeMillis();
+
+        long startGeneration;
+        synchronized (localCache) {
+            CachedMembership cached = localCache.get(localKey);
+            if (cached != null && cached.expiresAt() > now) {
+                return cached.member();
+            }
+            startGeneration = generation;
+        }
+
+        boolean member = loadMembership(roomId, email);
+        if (!member && negativeTtlMillis <= 0) {
+            return false;
+        }
+        synchronized (localCache) {
+            // 조회 중에 무효화가 있었으면 결과를 저장하지 않음 (다음 조회에서 다시 확인)
+            if (generation == startGeneration) {
+                localCache.put(localKey, new CachedMembership(member, now + (member ? ttlMillis : negativeTtlMillis)));
+            }
+        }
+        return member;
+    }
+
+    /**
+     * 🔹 특정 사용자의 참여 정보 무효화 (참여, 나가기, 1:1 채팅방 생성 시)
+     */
+    public void invalidate(Long roomId, String email) {
+        afterCommit(() -> {
+            synchronized (localCache) {
+                generation++;
+                localCache.remove(localKey(roomId, email));
+            }
+            if (redisEnabled) {
+                redisTemplate.execute(INVALIDATE_SCRIPT, List.of(redisKey(roomId), versionKey(roomId)), email, MEMBERS_TTL_SECONDS);
+            }
+        });
+    }
+
+    /**
+     * 🔹 채팅방 전체의 참여 정보 무효화 (채팅방 삭제 시)
+     */
+    public void invalidateRoom(Long roomId) {
+        String prefix = roomId + ":";
+        afterCommit(() -> {
+            synchronized (localCache) {
+                generation++;
+                localCache.keySet().removeIf(key -> key.startsWith(prefix));
+            }
+            if (redisEnabled) {
+                redisTemplate.execute(INVALIDATE_SCRIPT, List.of(redisKey(roomId), versionKey(roomId)), "", MEMBERS_TTL_SECONDS);
+            }
+        });
+    }
+
+    // 🔹 Redis Set -> DB exists 쿼리 순서로 확인 (참여 중인 경우만, 조회 시작 때 버전이 그대로일 때만 Redis에 저장)
+    private boolean loadMembership(Long roomId, String email) {
+        String version = null;
+        if (redisEnabled) {
+            try {
+                // 버전을 먼저 읽어야 DB 조회 이후의 무효화를 감지할 수 있음
+                String current = redisTemplate.opsForValue().get(versionKey(roomId));
+                version = current == null ? "0" : current;
+                if (Boolean.TRUE.equals(redisTemplate.opsForSet().isMember(redisKey(roomId), email))) {
+                    return true;
+                }
+            } catch (Exception e) {
+                log.warn("채팅방 참여자 Redis 캐시 조회 실패: {}", e.getMessage());
+                version = null;
+            }
+        }
+
+        boolean member = chatParticipantRepository.existsByChatRoomIdAndMemberEmail(roomId, email);
+
+        if (member && version != null) {
+            try {
+                redisTemplate.execute(ADD_SCRIPT, List.of(redisKey(roomId), versionKey(roomId)), version, email, MEMBERS_TTL_SECONDS);
+            } catch (Exception e) {
+                log.warn("채팅방 참여자 Redis 캐시 저장 실패: {}", e.getMessage());
+            }
+        }
+        return member;
+    }
+
+    private String localKey(Long roomId, String email) {
+        return roomId + ":" + email;
+    }
+
+    // 🔹 참여자 Set과 버전 키가 같은 슬롯에 있도록 roomId를 해시 태그로 감쌈 (Redis Cluster)
+    private String redisKey(Long roomId) {
+        return MEMBERS_KEY_PREFIX + "{" + roomId + "}";
+    }
+
+    private String versionKey(Long roomId) {
+        return redisKey(roomId) + ":version";
+    }
+
+    // 🔹 커밋 전에 무효화하면 다른 요청이 이전 상태를 다시 캐시할 수 있으므로 커밋 이후에 실행
+    private void afterCommit(Runnable action) {
+        Runnable safeAction = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("채팅방 참여자 캐시 무효화 실패: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeAction.run();
+                }
+            });
+        } else {
+            safeAction.run();
+        }
+    }
+
+    private record CachedMembership(boolean member, long expiresAt) {
+    }
+}
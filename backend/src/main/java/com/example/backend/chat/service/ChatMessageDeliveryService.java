@@ -0,0 +1,212 @@
+package com.example.backend.chat.service;
+
+import com.example.backend.common.logging.LogSampler;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📌 다른 노드(또는 자신)에서 전달받은 채팅 메시지를 이 노드의 STOMP 구독자에게 전송
+ * - Pub/Sub, Streams, 브로커 relay 전달 방식이 공통으로 사용
+ * - 발행 시 한 번 직렬화한 JSON 바이트를 파싱/재직렬화 없이 그대로 STOMP MESSAGE 본문으로 전달
+ * - chat.delivery.coalesce.enabled=true 이면 같은 채팅방 메시지를 window-ms 동안(또는 max-batch개까지) 모아
+ *   JSON 배열 하나로 묶어 한 프레임으로 전송 (메시지가 하나뿐이면 기존처럼 객체 그대로 전송)
+ *   → 클라이언트는 본문이 배열이면 여러 메시지로 처리해야 함
+ *   → 같은 채팅방의 꺼내기와 전송은 채팅방별 락으로 직렬화하여 크기/시간 조건이 겹쳐도 순서 유지
+ *   → 모두 전송되어 빈 버퍼는 제거하므로 한 번 메시지를 받은 채팅방의 버퍼가 계속 남지 않음
+ */
+@Slf4j
+@Service
+public class ChatMessageDeliveryService {
+
+    private final SimpMessageSendingOperations messageTemplate;
+    private final ChatMetrics chatMetrics;
+    private final LogSampler errorLogSampler = new LogSampler(10);
+
+    private final boolean coalesce;
+    private final long windowMs;
+    private final int maxBatch;
+    private final DistributionSummary batchSizeSummary;
+    // 채팅방 ID -> 전송 대기 중인 메시지
+    private final Map<Long, RoomBuffer> buffers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flushScheduler;
+    private volatile boolean closed;
+
+    public ChatMessageDeliveryService(
+            SimpMessageSendingOperations messageTemplate,
+            ChatMetrics chatMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${chat.delivery.coalesce.enabled:false}") boolean coalesce,
+            @Value("${chat.delivery.coalesce.window-ms:20}") long windowMs,
+            @Value("${chat.delivery.coalesce.max-batch:50}") int maxBatch) {
+        this.messageTemplate = messageTemplate;
+        this.chatMetrics = chatMetrics;
+        this.coalesce = coalesce;
+        this.windowMs = windowMs;
+        this.maxBatch = maxBatch;
+        this.batchSizeSummary = DistributionSummary.builder("chat.delivery.batch.size")
+                .description("한 프레임으로 묶어 전송한 채팅 메시지 수")
+                .register(meterRegistry);
+        if (coalesce) {
+            CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("chat-coalesce-");
+            threadFactory.setDaemon(true);
+            this.flushScheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        } else {
+            this.flushScheduler = null;
+        }
+    }
+
+    public void deliver(Long roomId, byte[] payload) {
+        if (!coalesce || closed) {
+            send(roomId, payload, 1);
+            return;
+        }
+        while (true) {
+            RoomBuffer buffer = buffers.computeIfAbsent(roomId, id -> new RoomBuffer());
+            boolean flushNow = false;
+            boolean scheduleFlush = false;
+            synchronized (buffer) {
+                if (buffer.retired) {
+                    // 방금 비워져 map에서 제거된 버퍼 → 새 버퍼로 다시 시도
+                    continue;
+                }
+                buffer.payloads.add(payload);
+                if (buffer.payloads.size() >= maxBatch) {
+                    flushNow = true;
+                } else if (!buffer.flushScheduled) {
+                    buffer.flushScheduled = true;
+                    scheduleFlush = true;
+                }
+            }
+            if (flushNow) {
+                flush(roomId, buffer);
+            }
+            if (scheduleFlush) {
+                try {
+                    flushScheduler.schedule(() -> flush(roomId, buffer), windowMs, TimeUnit.MILLISECONDS);
+                } catch (RejectedExecutionException e) {
+                    // 종료 중이면 예약하지 않고 바로 전송
+                    flush(roomId, buffer);
+                }
+            }
+            return;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (flushScheduler == null) {
+            return;
+        }
+        closed = true;
+        flushScheduler.shutdownNow();
+        // 대기 중인 메시지를 모두 전송
+        buffers.forEach(this::flush);
+    }
+
+    // 🔹 버퍼를 비워 전송하고, 그 사이 새 메시지가 없으면 버퍼 제거
+    // 꺼내기부터 전송까지 sendLock으로 묶어 같은 채팅방의 묶음이 꺼낸 순서대로 전송되도록 함
+    private void flush(Long roomId, RoomBuffer buffer) {
+        synchronized (buffer.sendLock) {
+            List<byte[]> payloads;
+            synchronized (buffer) {
+                payloads = buffer.drain();
+            }
+            if (!payloads.isEmpty()) {
+                try {
+                    sendBatch(roomId, payloads);
+                } catch (RuntimeException e) {
+                    // 예약 작업에서 던진 예외는 사라지므로 여기서 처리 (지표/로그는 send에서 기록)
+                }
+            }
+            // 전송이 끝난 뒤에 제거해야 새 버퍼의 묶음이 이 묶음보다 먼저 전송되지 않음
+            synchronized (buffer) {
+                if (buffer.payloads.isEmpty() && !buffer.flushScheduled) {
+                    buffer.retired = true;
+                    buffers.remove(roomId, buffer);
+                }
+            }
+        }
+    }
+
+    // 여러 메시지의 JSON 바이트를 파싱 없이 이어 붙여 JSON 배열 하나로 전송
+    private void sendBatch(Long roomId, List<byte[]> payloads) {
+        if (payloads.size() == 1) {
+            send(roomId, payloads.get(0), 1);
+            return;
+        }
+        int length = payloads.size() + 1;
+        for (byte[] payload : payloads) {
+            length += payload.length;
+        }
+        byte[] batch = new byte[length];
+        int offset = 0;
+        batch[offset++] = '[';
+        for (int i = 0; i < payloads.size(); i++) {
+            if (i > 0) {
+                batch[offset++] = ',';
+            }
+            byte[] payload = payloads.get(i);
+            System.arraycopy(payload, 0, batch, offset, payload.length);
+            offset += payload.length;
+        }
+        batch[offset] = ']';
+        send(roomId, batch, payloads.size());
+    }
+
+    private void send(Long roomId, byte[] payload, int messageCount) {
+        long begin = System.nanoTime();
+        try {
+            // 메시지 컨버터를 거치지 않도록 본문과 content-type을 직접 지정한 메시지로 전송
+            SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+            accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+            accessor.setLeaveMutable(true);
+            MessageHeaders headers = accessor.getMessageHeaders();
+            messageTemplate.send("/topic/" + roomId, MessageBuilder.createMessage(payload, headers));
+            batchSizeSummary.record(messageCount);
+        } catch (RuntimeException e) {
+            chatMetrics.getDeliverFailed().increment(messageCount);
+            if (errorLogSampler.tryAcquire()) {
+                log.error("채팅 메시지 전달 실패: roomId={}, count={}, size={}, 오류={}",
+                        roomId, messageCount, payload.length, e.getMessage());
+            }
+            throw e;
+        } finally {
+            chatMetrics.getDeliver().record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // 채팅방별 전송 대기 버퍼 (payloads/flushScheduled/retired는 RoomBuffer 객체로 동기화)
+    private static class RoomBuffer {
+        private final Object sendLock = new Object();
+        private List<byte[]> payloads = new ArrayList<>();
+        private boolean flushScheduled;
+        private boolean retired;
+
+        private List<byte[]> drain() {
+            List<byte[]> drained = payloads;
+            payloads = new ArrayList<>();
+            flushScheduled = false;
+            return drained;
+        }
+    }
+}
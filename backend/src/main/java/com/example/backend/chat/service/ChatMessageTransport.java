@@ -0,0 +1,48 @@
+package com.example.backend.chat.service;
+
+import com.example.backend.chat.dto.ChatMessageDto;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 📌 노드 간 채팅 메시지 전달 방식
+ * - pubsub(기본): Redis Pub/Sub 채널 chat:{roomId}
+ * - stream: Redis Streams chat:stream:{roomId} + 노드별 XREAD (consumer group 없음)
+ * - chat.transport 설정으로 선택
+ * - chat.broker.mode=relay 이면 외부 브로커로 바로 전송하는 BrokerRelayTransport가 우선
+ */
+public interface ChatMessageTransport {
+
+    /**
+     * 🔹 채팅방에 메시지 발행 (UTF-8 JSON으로 한 번 직렬화된 ChatMessageDto)
+     * - 같은 바이트 배열을 Redis와 STOMP 브로커까지 그대로 전달하므로 변경하면 안 됨
+     */
+    void publish(Long roomId, byte[] payload);
+
+    /**
+     * 🔹 이 노드에 채팅방의 첫 구독자가 생겼을 때 호출
+     */
+    void subscribeRoom(Long roomId);
+
+    /**
+     * 🔹 이 노드에서 채팅방의 마지막 구독자가 나갔을 때 호출
+     */
+    void unsubscribeRoom(Long roomId);
+
+    /**
+     * 🔹 전달 계층에 남아 있는 최근 메시지 조회 (오래된 순)
+     * - 지원하지 않는 방식이면 Optional.empty() 반환 → DB에서 조회
+     */
+    default Optional<List<ChatMessageDto>> recentMessages(Long roomId, int count) {
+        return Optional.empty();
+    }
+
+    /**
+     * 🔹 발행한 메시지를 전달 계층에 보관하는지 여부
+     * - 보관하지 않는 방식(Pub/Sub, 브로커)은 구독자가 없는 채팅방이면 발행을 생략할 수 있음
+     */
+    default boolean retainsMessages() {
+        return false;
+    }
+}
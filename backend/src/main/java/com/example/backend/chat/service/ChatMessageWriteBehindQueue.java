@@ -0,0 +1,194 @@
+package com.example.backend.chat.service;
+
+import com.example.backend.chat.dto.ChatMessageDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📌 채팅 메시지 write-behind 저장 큐
+ * - chat.persistence.mode=write-behind 일 때 구독자에게 먼저 발행하고 DB 저장은 이 큐를 통해 비동기로 처리
+ * - 첫 메시지가 들어온 뒤 배치 크기(batch-size) 또는 대기 시간(flush-interval-ms) 중 먼저 도달하는 조건으로 한 트랜잭션에 저장
+ * - 보낸 사람의 채팅방 참여 여부는 큐에 넣기 전(ChatRoomMailbox)에 확인
+ * - 큐가 가득 차면 발행 스레드를 대기시켜(backpressure) 메시지를 버리지 않음
+ * - 단일 저장 스레드가 FIFO로 처리하므로 채팅방별 저장 순서 유지
+ * - 종료 시 저장 스레드가 남은 메시지를 모두 저장할 때까지 대기
+ */
+@Slf4j
+@Component
+public class ChatMessageWriteBehindQueue {
+
+    private static final String WRITE_BEHIND_MODE = "write-behind";
+
+    private final ChatService chatService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final BlockingQueue<ChatMessageDto> queue;
+
+    private final Counter persistedCounter;
+    private final Counter failedCounter;
+    private final Timer flushTimer;
+    private final Timer enqueueWaitTimer;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public ChatMessageWriteBehindQueue(
+            ChatService chatService,
+            MeterRegistry meterRegistry,
+            @Value("${chat.persistence.mode:sync}") String persistenceMode,
+            @Value("${chat.persistence.write-behind.capacity:10000}") int capacity,
+            @Value("${chat.persistence.write-behind.batch-size:200}") int batchSize,
+            @Value("${chat.persistence.write-behind.flush-interval-ms:100}") long flushIntervalMs) {
+        this.chatService = chatService;
+        this.enabled = WRITE_BEHIND_MODE.equalsIgnoreCase(persistenceMode);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        Gauge.builder("chat.persistence.queue.size", queue, BlockingQueue::size)
+                .description("저장 대기 중인 채팅 메시지 수")
+                .register(meterRegistry);
+        this.persistedCounter = Counter.builder("chat.persistence.persisted")
+                .description("write-behind로 저장된 채팅 메시지 수")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("chat.persistence.failed")
+                .description("저장에 실패한 채팅 메시지 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("chat.persistence.flush")
+                .description("배치 저장 소요 시간")
+                .register(meterRegistry);
+        this.enqueueWaitTimer = Timer.builder("chat.persistence.enqueue.wait")
+                .description("큐가 가득 차서 발행 스레드가 대기한 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "chat-write-behind");
+        flusher.setDaemon(true);
+        flusher.start();
+        log.info("채팅 메시지 write-behind 저장 시작 (batchSize={}, flushIntervalMs={})", batchSize, flushIntervalMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 🔹 저장할 메시지를 큐에 추가 (roomId가 채워진 메시지)
+     * - 큐가 가득 차면 빈 자리가 생길 때까지 대기 (backpressure)
+     */
+    public void enqueue(ChatMessageDto chatMessageDto) {
+        if (queue.offer(chatMessageDto)) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            queue.put(chatMessageDto);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("채팅 메시지 저장 대기 중 인터럽트 발생", e);
+        } finally {
+            enqueueWaitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        running = false;
+        if (flusher != null) {
+            // 저장 스레드가 남은 메시지를 모두 저장하고 끝날 때까지 대기 (두 스레드가 동시에 저장하지 않도록 시간 제한 없음)
+            try {
+                flusher.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                log.error("write-behind 저장 스레드 종료 대기 중 인터럽트 발생, 저장하지 못한 메시지: {}개", queue.size());
+                return;
+            }
+        }
+        // 저장 스레드가 끝난 직후에 들어온 메시지만 남으므로 현재 스레드에서 저장
+        List<ChatMessageDto> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.info("종료 전 남은 채팅 메시지 저장: {}개", remaining.size());
+            flush(remaining);
+        }
+    }
+
+    private void runFlushLoop() {
+        List<ChatMessageDto> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ChatMessageDto first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // 첫 메시지부터 flush-interval-ms 동안 batch-size까지 모은 뒤 한 번에 저장
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                        break;
+                    }
+                    ChatMessageDto next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<ChatMessageDto> batch) {
+        long start = System.nanoTime();
+        try {
+            chatService.saveMessages(batch);
+            persistedCounter.increment(batch.size());
+        } catch (Exception e) {
+            // 배치 중 한 메시지 때문에 전체가 유실되지 않도록 한 건씩 다시 저장
+            log.warn("채팅 메시지 배치 저장 실패, 개별 저장 재시도: {}", e.getMessage());
+            for (ChatMessageDto chatMessageDto : batch) {
+                try {
+                    chatService.saveMessage(chatMessageDto.getRoomId(), chatMessageDto);
+                    persistedCounter.increment();
+                } catch (Exception ex) {
+                    failedCounter.increment();
+                    log.error("채팅 메시지 저장 실패: roomId={}, sender={}, 오류={}",
+                            chatMessageDto.getRoomId(), chatMessageDto.getSenderEmail(), ex.getMessage());
+                }
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.backend.chat.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * 📌 채팅 메시지 처리 단계별 지표 (수신 → 저장 → 발행 → 전달)
+ * - chat.message.received: STOMP SEND로 수신한 메시지 수
+ * - chat.message.queue.wait: 수신 후 채팅방 mailbox에서 처리되기까지 대기 시간
+ * - chat.message.persist: DB 저장 시간 (같은 채팅방 묶음 단위)
+ * - chat.message.publish: 직렬화 + 노드 간 전달 계층(Redis/브로커) 발행 시간
+ * - chat.message.receive.to.publish: 수신부터 발행 완료까지 시간
+ * - chat.message.deliver: 이 노드 STOMP 구독자에게 전달하는 시간
+ * - chat.message.publish.skipped: 구독자가 없는 채팅방이라 발행을 생략한 메시지 수
+ * - chat.message.failed: 단계(stage=validate|persist|publish|deliver)별 실패 수
+ */
+@Getter
+@Component
+public class ChatMetrics {
+
+    private final Counter received;
+    private final Timer queueWait;
+    private final Timer persist;
+    private final Timer publish;
+    private final Counter publishSkipped;
+    private final Timer receiveToPublish;
+    private final Timer deliver;
+    private final Counter validateFailed;
+    private final Counter persistFailed;
+    private final Counter publishFailed;
+    private final Counter deliverFailed;
+
+    public ChatMetrics(MeterRegistry meterRegistry) {
+        this.received = Counter.builder("chat.message.received")
+                .description("수신한 채팅 메시지 수")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("chat.message.queue.wait")
+                .description("채팅방 mailbox 대기 시간")
+                .register(meterRegistry);
+        this.persist = Timer.builder("chat.message.persist")
+                .description("채팅 메시지 저장 시간")
+                .register(meterRegistry);
+        this.publish = Timer.builder("chat.message.publish")
+                .description("채팅 메시지 발행 시간")
+                .register(meterRegistry);
+        this.publishSkipped = Counter.builder("chat.message.publish.skipped")
+                .description("구독자가 없어 발행을 생략한 채팅 메시지 수")
+                .register(meterRegistry);
+        this.receiveToPublish = Timer.builder("chat.message.receive.to.publish")
+                .description("수신부터 발행 완료까지 시간")
+                .register(meterRegistry);
+        this.deliver = Timer.builder("chat.message.deliver")
+                .description("STOMP 구독자 전달 시간")
+                .register(meterRegistry);
+        this.validateFailed = failed(meterRegistry, "validate");
+        this.persistFailed = failed(meterRegistry, "persist");
+        this.publishFailed = failed(meterRegistry, "publish");
+        this.deliverFailed = failed(meterRegistry, "deliver");
+    }
+
+    private static Counter failed(MeterRegistry meterRegistry, String stage) {
+        return Counter.builder("chat.message.failed")
+                .tag("stage", stage)
+                .description("단계별 채팅 메시지 처리 실패 수")
+                .register(meterRegistry);
+    }
+}
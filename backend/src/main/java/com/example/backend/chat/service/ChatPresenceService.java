@@ -0,0 +1,243 @@
+package com.example.backend.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.security.Principal;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📌 노드 간 공유되는 접속/채팅방 구독 현황 (presence)
+ * - chat:presence:online          ZSET (member={인스턴스}|{이메일}, score=만료 시각) : 접속 중인 사용자
+ * - chat:presence:room:{roomId}   ZSET (member={인스턴스}|{이메일}, score=만료 시각) : 채팅방을 구독 중인 사용자
+ *   → 노드(인스턴스)별 항목이므로 한 노드에서 구독을 해제해도 다른 노드의 같은 사용자 항목은 남음
+ *   → 같은 노드의 여러 세션/탭은 로컬 참조 수로 관리하여 마지막 구독이 끝날 때만 제거
+ * - 각 노드는 자신의 로컬 세션/구독만 heartbeat-ms 마다 만료 시각을 갱신하고, 만료된 항목은 ZREMRANGEBYSCORE로 정리
+ *   → 노드가 비정상 종료되어도 ttl-ms 후 자동으로 사라지며, 구독자 존재 여부는 키 스캔 없이 ZCOUNT로 확인
+ * - 구독자 없음(negative) 결과는 캐시하지 않음 : 다른 노드에 막 구독한 사용자의 메시지가 발행 생략되지 않도록
+ * - 채팅방 구독 변화는 ChatRoomSubscriptionRegistry가 전달
+ */
+@Slf4j
+@Service
+public class ChatPresenceService {
+
+    private static final String ONLINE_KEY = "chat:presence:online";
+    private static final String ROOM_KEY_PREFIX = "chat:presence:room:";
+    private static final char MEMBER_SEPARATOR = '|';
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final long ttlMs;
+    private final long liveCacheMs;
+    // 이 프로세스를 구분하는 presence 항목 prefix (같은 node-id로 여러 프로세스가 떠도 겹치지 않도록 임의 값 추가)
+    private final String instanceId;
+
+    // 세션 ID -> 이메일
+    private final Map<String, String> sessionEmails = new ConcurrentHashMap<>();
+    // 이메일 -> 이 노드의 세션 수
+    private final Map<String, Integer> localSessions = new ConcurrentHashMap<>();
+    // 채팅방 ID -> (이메일 -> 이 노드의 구독 수)
+    private final Map<Long, Map<String, Integer>> localRoomUsers = new ConcurrentHashMap<>();
+    // 채팅방 ID -> 다른 노드에 구독자가 있음을 확인한 시각 (구독자 있음 결과만 짧게 캐시)
+    private final Map<Long, Long> liveCache = new ConcurrentHashMap<>();
+
+    public ChatPresenceService(
+            @Qualifier("chatPubSub") StringRedisTemplate stringRedisTemplate,
+            @Value("${chat.presence.ttl-ms:30000}") long ttlMs,
+            @Value("${chat.presence.live-cache-ms:1000}") long liveCacheMs,
+            @Value("${chat.node-id:${HOSTNAME:local}}") String nodeId) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.ttlMs = ttlMs;
+        this.liveCacheMs = liveCacheMs;
+        this.instanceId = nodeId + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private static String roomKey(Long roomId) {
+        return ROOM_KEY_PREFIX + roomId;
+    }
+
+    private String member(String email) {
+        return instanceId + MEMBER_SEPARATOR + email;
+    }
+
+    @EventListener
+    public void connectedHandle(SessionConnectedEvent event) {
+        Principal user = event.getUser();
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (user == null || sessionId == null) {
+            return;
+        }
+        String email = user.getName();
+        sessionEmails.put(sessionId, email);
+        if (localSessions.merge(email, 1, Integer::sum) == 1) {
+            runQuietly(() -> stringRedisTemplate.opsForZSet().add(ONLINE_KEY, member(email), expiresAt()));
+        }
+    }
+
+    @EventListener
+    public void disconnectHandle(SessionDisconnectEvent event) {
+        String email = sessionEmails.remove(event.getSessionId());
+        if (email == null) {
+            return;
+        }
+        if (localSessions.computeIfPresent(email, (key, count) -> count <= 1 ? null : count - 1) == null) {
+            runQuietly(() -> stringRedisTemplate.opsForZSet().remove(ONLINE_KEY, member(email)));
+        }
+    }
+
+    /**
+     * 🔹 이 노드에서 사용자가 채팅방을 구독 (ChatRoomSubscriptionRegistry에서 호출)
+     */
+    public void joinRoom(Long roomId, String email) {
+        // 채팅방 map 생성/제거와 사용자 참조 수 변경을 한 compute 안에서 처리 (leaveRoom의 map 제거와 겹치지 않도록)
+        boolean[] first = new boolean[1];
+        localRoomUsers.compute(roomId, (id, users) -> {
+            Map<String, Integer> current = users == null ? new ConcurrentHashMap<>() : users;
+            first[0] = current.merge(email, 1, Integer::sum) == 1;
+            return current;
+        });
+        if (first[0]) {
+            runQuietly(() -> {
+                stringRedisTemplate.opsForZSet().add(roomKey(roomId), member(email), expiresAt());
+                stringRedisTemplate.expire(roomKey(roomId), Duration.ofMillis(ttlMs * 2));
+            });
+        }
+    }
+
+    /**
+     * 🔹 이 노드에서 사용자의 채팅방 구독 해제 (ChatRoomSubscriptionRegistry에서 호출)
+     */
+    public void leaveRoom(Long roomId, String email) {
+        boolean[] last = new boolean[1];
+        localRoomUsers.computeIfPresent(roomId, (id, users) -> {
+            Integer count = users.get(email);
+            if (count == null) {
+                return users;
+            }
+            if (count <= 1) {
+                users.remove(email);
+                last[0] = true;
+            } else {
+                users.put(email, count - 1);
+            }
+            return users.isEmpty() ? null : users;
+        });
+        if (last[0]) {
+            runQuietly(() -> stringRedisTemplate.opsForZSet().remove(roomKey(roomId), member(email)));
+        }
+    }
+
+    /**
+     * 🔹 채팅방에 구독자가 있는지 여부 (이 노드 또는 다른 노드)
+     * - 이 노드에 구독자가 있으면 Redis 조회 없이 true
+     * - 다른 노드에 구독자가 있다고 확인한 결과만 live-cache-ms 동안 재사용 (없음 결과는 매번 다시 확인)
+     * - Redis 오류 시에는 메시지가 유실되지 않도록 true
+     */
+    public boolean hasListeners(Long roomId) {
+        if (localRoomUsers.containsKey(roomId)) {
+            return true;
+        }
+        long now = System.currentTimeMillis();
+        Long checkedAt = liveCache.get(roomId);
+        if (checkedAt != null && now - checkedAt < liveCacheMs) {
+            return true;
+        }
+        boolean live;
+        try {
+            Long count = stringRedisTemplate.opsForZSet().count(roomKey(roomId), now, Double.POSITIVE_INFINITY);
+            live = count != null && count > 0;
+        } catch (Exception e) {
+            return true;
+        }
+        if (live) {
+            liveCache.put(roomId, now);
+        } else {
+            liveCache.remove(roomId);
+        }
+        return live;
+    }
+
+    /**
+     * 🔹 접속 중인 사용자 수 (전체 노드, 여러 노드에 접속한 사용자는 한 번만 계산)
+     */
+    public long getOnlineCount() {
+        return countDistinctUsers(ONLINE_KEY);
+    }
+
+    /**
+     * 🔹 채팅방을 보고 있는 사용자 수 (전체 노드, 여러 노드에서 구독한 사용자는 한 번만 계산)
+     */
+    public long getRoomOnlineCount(Long roomId) {
+        return countDistinctUsers(roomKey(roomId));
+    }
+
+    // 만료되지 않은 항목의 이메일 부분만 모아 중복 제거
+    private long countDistinctUsers(String key) {
+        Set<String> members = stringRedisTemplate.opsForZSet().rangeByScore(key, System.currentTimeMillis(), Double.POSITIVE_INFINITY);
+        if (members == null) {
+            return 0;
+        }
+        return members.stream()
+                .map(member -> member.substring(member.indexOf(MEMBER_SEPARATOR) + 1))
+                .distinct()
+                .count();
+    }
+
+    /**
+     * 🔹 이 노드의 세션/구독 만료 시각 갱신 + 만료된 항목 정리 (파이프라인 한 번)
+     */
+    @Scheduled(fixedDelayString = "${chat.presence.heartbeat-ms:10000}")
+    public void heartbeat() {
+        if (localSessions.isEmpty() && localRoomUsers.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        double expiresAt = now + ttlMs;
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection redis = (StringRedisConnection) connection;
+                for (String email : localSessions.keySet()) {
+                    redis.zAdd(ONLINE_KEY, expiresAt, member(email));
+                }
+                redis.zRemRangeByScore(ONLINE_KEY, Double.NEGATIVE_INFINITY, now);
+                localRoomUsers.forEach((roomId, users) -> {
+                    String key = roomKey(roomId);
+                    for (String email : users.keySet()) {
+                        redis.zAdd(key, expiresAt, member(email));
+                    }
+                    redis.zRemRangeByScore(key, Double.NEGATIVE_INFINITY, now);
+                    redis.pExpire(key, ttlMs * 2);
+                });
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("presence heartbeat 실패: {}", e.getMessage());
+        }
+    }
+
+    private double expiresAt() {
+        return System.currentTimeMillis() + ttlMs;
+    }
+
+    // presence 갱신 실패가 STOMP 이벤트 처리를 막지 않도록 예외를 기록만 함 (다음 heartbeat에서 복구)
+    private void runQuietly(Runnable action) {
+        try {
+            action.run();
+        } catch (Exception e) {
+            log.warn("presence 갱신 실패: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.backend.chat.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * 📌 채팅방별 순서를 보장하는 실행기 (chat.websocket.inbound.virtual-threads=true 일 때 ChatRoomMailbox가 사용)
+ * - 처리할 메시지가 있는 채팅방마다 작업 하나가 대기열을 순서대로 비우고, 비면 종료
+ *   → 같은 채팅방은 도착 순서대로, 서로 다른 채팅방은 병렬로 처리
+ * - Java 21 이상 : 채팅방 작업을 가상 스레드에서 실행 (DB 저장이 느려도 동시 처리 수가 스레드 수에 묶이지 않음)
+ * - Java 21 미만 : 최대 chat.room-executor.max-threads개의 일반 스레드 풀에서 실행
+ *   → 빌드 toolchain(17)에서도 같은 채팅방별 처리 방식을 그대로 사용
+ */
+@Slf4j
+@Component
+public class ChatRoomExecutor {
+
+    private final boolean virtualThreads;
+    private final TaskExecutor taskExecutor;
+    private final ThreadPoolTaskExecutor platformPool;
+
+    public ChatRoomExecutor(@Value("${chat.room-executor.max-threads:64}") int maxThreads) {
+        this.virtualThreads = Runtime.version().feature() >= 21;
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("chat-room-");
+            executor.setVirtualThreads(true);
+            this.taskExecutor = executor;
+            this.platformPool = null;
+        } else {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(maxThreads);
+            executor.setMaxPoolSize(maxThreads);
+            executor.setAllowCoreThreadTimeOut(true);
+            executor.setThreadNamePrefix("chat-room-");
+            executor.setDaemon(true);
+            executor.initialize();
+            this.taskExecutor = executor;
+            this.platformPool = executor;
+        }
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * 🔹 채팅방별 대기열 생성
+     * - capacity : 전체 채팅방의 처리 대기 항목 최대 수 (넘으면 submit이 대기)
+     * - handler : 같은 채팅방의 연속된 항목을 최대 batchSize개씩 순서대로 받음
+     */
+    public <T> RoomQueues<T> newRoomQueues(int capacity, int batchSize, Consumer<List<T>> handler) {
+        return new RoomQueues<>(capacity, batchSize, handler);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (platformPool != null) {
+            platformPool.shutdown();
+        }
+    }
+
+    /**
+     * 📌 채팅방 ID -> 처리 대기 항목 (처리할 항목이 있는 채팅방만 유지)
+     */
+    public final class RoomQueues<T> {
+
+        private final Map<Long, RoomQueue<T>> rooms = new ConcurrentHashMap<>();
+        private final Semaphore capacity;
+        private final int maxCapacity;
+        private final int batchSize;
+        private final Consumer<List<T>> handler;
+
+        private RoomQueues(int capacity, int batchSize, Consumer<List<T>> handler) {
+            this.capacity = new Semaphore(capacity);
+            this.maxCapacity = capacity;
+            this.batchSize = batchSize;
+            this.handler = handler;
+        }
+
+        /**
+         * 🔹 채팅방 대기열에 추가하고, 처리 중인 작업이 없으면 새로 시작
+         * - 대기 항목이 capacity를 넘으면 빈 자리가 생길 때까지 대기 (backpressure)
+         */
+        public void submit(Long roomId, T item) throws InterruptedException {
+            capacity.acquire();
+            while (true) {
+                RoomQueue<T> room = rooms.computeIfAbsent(roomId, RoomQueue::new);
+                boolean startDrainer;
+                synchronized (room) {
+                    if (room.retired) {
+                        // 방금 비워져 map에서 제거된 대기열 → 새 대기열로 다시 시도
+                        continue;
+                    }
+                    room.pending.add(item);
+                    startDrainer = !room.draining;
+                    room.draining = true;
+                }
+                if (startDrainer) {
+                    taskExecutor.execute(() -> drain(room));
+                }
+                return;
+            }
+        }
+
+        public int pendingCount() {
+            return maxCapacity - capacity.availablePermits();
+        }
+
+        public boolean isIdle() {
+            return rooms.isEmpty();
+        }
+
+        // 🔹 채팅방 대기열을 batch-size 단위로 순서대로 처리, 비면 대기열을 제거하고 종료
+        // 대기열은 마지막 묶음 처리가 끝난 뒤에만 제거되므로 같은 채팅방을 두 스레드가 동시에 처리하지 않음
+        private void drain(RoomQueue<T> room) {
+            List<T> drained = new ArrayList<>(batchSize);
+            while (true) {
+                synchronized (room) {
+                    while (drained.size() < batchSize && !room.pending.isEmpty()) {
+                        drained.add(room.pending.poll());
+                    }
+                    if (drained.isEmpty()) {
+                        room.draining = false;
+                        room.retired = true;
+                        rooms.remove(room.roomId, room);
+                        return;
+                    }
+                }
+                capacity.release(drained.size());
+                try {
+                    handler.accept(drained);
+                } catch (Exception e) {
+                    log.error("채팅방 작업 처리 실패: roomId={}, 오류={}", room.roomId, e.getMessage());
+                }
+                drained.clear();
+            }
+        }
+    }
+
+    // 채팅방 대기열 (pending/draining/retired는 이 객체로 동기화)
+    private static final class RoomQueue<T> {
+        private final Long roomId;
+        private final ArrayDeque<T> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean retired;
+
+        private RoomQueue(Long roomId) {
+            this.roomId = roomId;
+        }
+    }
+}
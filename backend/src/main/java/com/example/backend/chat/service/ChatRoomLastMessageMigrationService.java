@@ -0,0 +1,39 @@
+package com.example.backend.chat.service;
+
+import com.example.backend.chat.repository.ChatRoomRepository;
+import com.example.backend.common.domain.DataMigration;
+import com.example.backend.common.repository.DataMigrationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 마지막 메시지 ID(chat_room.last_message_id) 도입 전에 만들어진 채팅방을 채우는 일회성 마이그레이션
+ * - 애플리케이션 시작 시 실행, 적용 여부는 data_migration 테이블(DataMigration)에 기록하여 한 번만 실행
+ * - 값이 없으면 최근 활동순 정렬에서 0으로 취급되어 기존 채팅방이 항상 목록 끝에 표시됨
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ChatRoomLastMessageMigrationService {
+
+    static final String MIGRATION_NAME = "chat-room-last-message-id";
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final DataMigrationRepository dataMigrationRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrate() {
+        if (dataMigrationRepository.existsById(MIGRATION_NAME)) {
+            return;
+        }
+        int updated = chatRoomRepository.backfillLastMessageIds();
+        // 다른 노드가 먼저 기록했으면 PK 충돌로 이 트랜잭션은 롤백됨
+        dataMigrationRepository.saveAndFlush(new DataMigration(MIGRATION_NAME));
+        log.info("채팅방 마지막 메시지 ID 마이그레이션 완료: {}개 채팅방", updated);
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.backend.chat.service;
+
+import com.example.backend.chat.dto.ChatMessageDto;
+import com.example.backend.common.logging.LogSampler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📌 채팅방별 순서를 보장하는 메시지 처리 mailbox
+ * - 기본 : roomId를 해시하여 고정된 mailbox(shard)에 배정, mailbox마다 작업 스레드 하나가 순서대로 처리
+ *   → 서로 다른 채팅방은 병렬로, 같은 채팅방은 항상 도착 순서대로 저장/발행 (동시 처리 수는 shard 수로 제한)
+ * - chat.websocket.inbound.virtual-threads=true : 메시지가 쌓인 채팅방마다 ChatRoomExecutor의 작업 하나가 순서대로 처리
+ *   → DB 저장이 느려도 shard 수에 묶이지 않고 채팅방 수만큼 동시에 처리, 채팅방이 비면 작업 종료
+ *   → Java 21 이상은 가상 스레드, 미만은 제한된 일반 스레드 풀에서 실행 (ChatRoomExecutor)
+ * - mailbox에 쌓인 같은 채팅방의 연속된 메시지는 한 트랜잭션으로 저장 (chat.mailbox.batch-size)
+ * - 대기 메시지가 capacity를 넘으면 inbound 스레드를 대기시켜(backpressure) 메시지를 버리지 않음
+ * - chat.presence.skip-publish=true 이면 어느 노드에도 구독자가 없는 채팅방은 저장만 하고 발행은 생략
+ *   (ChatPresenceService, 메시지를 보관하는 stream 방식 제외, 기본값 false)
+ * - 단계별 처리 시간은 ChatMetrics로 수집, 로그는 메시지 본문 없이 초당 횟수를 제한하여 기록
+ */
+@Slf4j
+@Component
+public class ChatRoomMailbox {
+
+    private final ChatService chatService;
+    private final ChatMessageTransport chatMessageTransport;
+    private final ChatMessageWriteBehindQueue writeBehindQueue;
+    private final ObjectMapper objectMapper;
+    private final ChatMetrics chatMetrics;
+    private final ChatPresenceService chatPresenceService;
+    private final int batchSize;
+    private final boolean skipPublishWithoutListeners;
+    private final boolean perRoom;
+    private final boolean virtualThreads;
+    // 기본 모드 : shard별 mailbox
+    private final List<BlockingQueue<Envelope>> mailboxes;
+    // 채팅방별 모드 : 채팅방 ID -> 처리 대기 메시지 (ChatRoomExecutor)
+    private final ChatRoomExecutor.RoomQueues<Envelope> roomQueues;
+    private final LogSampler errorLogSampler = new LogSampler(10);
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer batchTimer;
+
+    private volatile boolean running;
+    private CountDownLatch stopped;
+
+    public ChatRoomMailbox(
+            ChatService chatService,
+            ChatMessageTransport chatMessageTransport,
+            ChatMessageWriteBehindQueue writeBehindQueue,
+            ObjectMapper objectMapper,
+            ChatMetrics chatMetrics,
+            ChatPresenceService chatPresenceService,
+            ChatRoomExecutor chatRoomExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${chat.mailbox.shards:0}") int shards,
+            @Value("${chat.mailbox.capacity:10000}") int capacity,
+            @Value("${chat.mailbox.batch-size:50}") int batchSize,
+            @Value("${chat.presence.skip-publish:false}") boolean skipPublishWithoutListeners,
+            @Value("${chat.websocket.inbound.virtual-threads:false}") boolean virtualThreads) {
+        this.chatService = chatService;
+        this.chatMessageTransport = chatMessageTransport;
+        this.writeBehindQueue = writeBehindQueue;
+        this.objectMapper = objectMapper;
+        this.chatMetrics = chatMetrics;
+        this.chatPresenceService = chatPresenceService;
+        this.batchSize = batchSize;
+        this.skipPublishWithoutListeners = skipPublishWithoutListeners;
+        this.perRoom = virtualThreads;
+        this.virtualThreads = chatRoomExecutor.isVirtualThreads();
+
+        this.roomQueues = perRoom ? chatRoomExecutor.newRoomQueues(capacity, batchSize, this::processRoom) : null;
+        if (perRoom) {
+            Gauge.builder("chat.mailbox.queue.size", roomQueues, queues -> queues.pendingCount())
+                    .tag("shard", "room")
+                    .description("처리 대기 중인 채팅 메시지 수")
+                    .register(meterRegistry);
+        }
+
+        int shardCount = perRoom ? 0 : (shards > 0 ? shards : Runtime.getRuntime().availableProcessors() * 2);
+        this.mailboxes = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            BlockingQueue<Envelope> mailbox = new ArrayBlockingQueue<>(capacity);
+            mailboxes.add(mailbox);
+            Gauge.builder("chat.mailbox.queue.size", mailbox, BlockingQueue::size)
+                    .tag("shard", String.valueOf(i))
+                    .description("처리 대기 중인 채팅 메시지 수")
+                    .register(meterRegistry);
+        }
+        this.batchSizeSummary = DistributionSummary.builder("chat.mailbox.batch.size")
+                .description("한 번에 처리한 같은 채팅방의 연속 메시지 수")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("chat.mailbox.batch")
+                .description("채팅방 메시지 묶음 저장/발행 소요 시간")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        stopped = new CountDownLatch(mailboxes.size());
+        if (perRoom) {
+            if (!virtualThreads) {
+                log.warn("가상 스레드는 Java 21 이상에서만 사용 가능 (현재 {}), 채팅방별 처리를 일반 스레드 풀에서 실행",
+                        Runtime.version().feature());
+            }
+            log.info("채팅방 mailbox 시작 (채팅방별 처리, virtualThreads={}, batchSize={})", virtualThreads, batchSize);
+            return;
+        }
+        SimpleAsyncTaskExecutor starter = new SimpleAsyncTaskExecutor("chat-mailbox-");
+        starter.setDaemon(true);
+        for (BlockingQueue<Envelope> mailbox : mailboxes) {
+            starter.execute(() -> runMailbox(mailbox));
+        }
+        log.info("채팅방 mailbox 시작 (shards={}, batchSize={}, virtualThreads=false)", mailboxes.size(), batchSize);
+    }
+
+    /**
+     * 🔹 메시지를 채팅방의 mailbox에 추가
+     * - mailbox가 가득 차면 빈 자리가 생길 때까지 대기 (backpressure)
+     */
+    public void submit(Long roomId, ChatMessageDto chatMessageDto) {
+        chatMessageDto.setRoomId(roomId);
+        Envelope envelope = new Envelope(chatMessageDto, System.nanoTime());
+        try {
+            if (perRoom) {
+                roomQueues.submit(roomId, envelope);
+                return;
+            }
+            BlockingQueue<Envelope> mailbox = mailboxes.get(Math.floorMod(roomId.hashCode(), mailboxes.size()));
+            mailbox.put(envelope);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("채팅 메시지 처리 대기 중 인터럽트 발생", e);
+        }
+    }
+
+    // 🔹 채팅방별 모드 : ChatRoomExecutor가 같은 채팅방의 연속된 메시지를 순서대로 전달
+    private void processRoom(List<Envelope> drained) {
+        try {
+            process(drained);
+        } catch (Exception e) {
+            if (errorLogSampler.tryAcquire()) {
+                log.error("채팅방 메시지 처리 실패: roomId={}, 오류={}", drained.get(0).roomId(), e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            stopped.await(10, TimeUnit.SECONDS);
+            // 채팅방별 모드 : 처리 중인 채팅방 대기열이 모두 비워질 때까지 대기
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (perRoom && !roomQueues.isIdle() && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 작업 스레드가 끝내지 못한 메시지를 현재 스레드에서 처리
+        for (BlockingQueue<Envelope> mailbox : mailboxes) {
+            List<Envelope> remaining = new ArrayList<>();
+            mailbox.drainTo(remaining);
+            if (!remaining.isEmpty()) {
+                process(remaining);
+            }
+        }
+    }
+
+    private void runMailbox(BlockingQueue<Envelope> mailbox) {
+        List<Envelope> drained = new ArrayList<>(batchSize);
+        try {
+            while (running || !mailbox.isEmpty()) {
+                Envelope first = mailbox.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                drained.add(first);
+                mailbox.drainTo(drained, batchSize - 1);
+                process(drained);
+                drained.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            stopped.countDown();
+        }
+    }
+
+    // 꺼낸 메시지를 같은 채팅방의 연속 구간으로 나누어 구간마다 저장/발행
+    private void process(List<Envelope> drained) {
+        long now = System.nanoTime();
+        for (Envelope envelope : drained) {
+            chatMetrics.getQueueWait().record(now - envelope.receivedAt(), TimeUnit.NANOSECONDS);
+        }
+        int start = 0;
+        for (int i = 1; i <= drained.size(); i++) {
+            if (i == drained.size() || !drained.get(i).roomId().equals(drained.get(start).roomId())) {
+                processRoomBatch(drained.subList(start, i));
+                start = i;
+            }
+        }
+    }
+
+    private void processRoomBatch(List<Envelope> batch) {
+        long begin = System.nanoTime();
+        try {
+            List<Envelope> persisted = writeBehindQueue.isEnabled() ? validate(batch) : persist(batch);
+            for (Envelope envelope : persisted) {
+                if (publish(envelope.message())) {
+                    chatMetrics.getReceiveToPublish().record(System.nanoTime() - envelope.receivedAt(), TimeUnit.NANOSECONDS);
+                }
+                // write-behind 모드에서는 구독자에게 먼저 발행하고 DB 저장은 큐에서 배치로 처리
+                if (writeBehindQueue.isEnabled()) {
+                    writeBehindQueue.enqueue(envelope.message());
+                }
+            }
+        } finally {
+            batchSizeSummary.record(batch.size());
+            batchTimer.record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // write-behind 모드 : 저장 전에 발행하므로 보낸 사람이 채팅방 참여자인 메시지만 남김 (ChatMembershipCache 사용)
+    private List<Envelope> validate(List<Envelope> batch) {
+        List<Envelope> valid = new ArrayList<>(batch.size());
+        for (Envelope envelope : batch) {
+            boolean member;
+            try {
+                member = chatService.isRoomPaticipant(envelope.message().getSenderEmail(), envelope.roomId());
+            } catch (Exception e) {
+                member = false;
+            }
+            if (member) {
+                valid.add(envelope);
+                continue;
+            }
+            chatMetrics.getValidateFailed().increment();
+            if (errorLogSampler.tryAcquire()) {
+                log.warn("채팅방 참여자가 아닌 발신자의 메시지 무시: roomId={}, sender={}",
+                        envelope.roomId(), envelope.message().getSenderEmail());
+            }
+        }
+        return valid;
+    }
+
+    // 한 트랜잭션으로 저장, 실패하면 한 건씩 다시 저장하여 저장된 메시지만 발행
+    private List<Envelope> persist(List<Envelope> batch) {
+        List<ChatMessageDto> messages = new ArrayList<>(batch.size());
+        for (Envelope envelope : batch) {
+            messages.add(envelope.message());
+        }
+        long begin = System.nanoTime();
+        try {
+            chatService.saveMessages(messages);
+            return batch;
+        } catch (Exception e) {
+            log.warn("채팅 메시지 묶음 저장 실패, 개별 저장 재시도: roomId={}, count={}, 오류={}",
+                    batch.get(0).roomId(), batch.size(), e.getMessage());
+            List<Envelope> persisted = new ArrayList<>(batch.size());
+            for (Envelope envelope : batch) {
+                try {
+                    chatService.saveMessage(envelope.roomId(), envelope.message());
+                    persisted.add(envelope);
+                } catch (Exception ex) {
+                    chatMetrics.getPersistFailed().increment();
+                    if (errorLogSampler.tryAcquire()) {
+                        log.error("채팅 메시지 저장 실패: roomId={}, sender={}, 오류={}",
+                                envelope.roomId(), envelope.message().getSenderEmail(), ex.getMessage());
+                    }
+                }
+            }
+            return persisted;
+        } finally {
+            chatMetrics.getPersist().record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean publish(ChatMessageDto chatMessageDto) {
+        if (skipPublishWithoutListeners && !chatMessageTransport.retainsMessages()
+                && !chatPresenceService.hasListeners(chatMessageDto.getRoomId())) {
+            chatMetrics.getPublishSkipped().increment();
+            return false;
+        }
+        long begin = System.nanoTime();
+        try {
+            // UTF-8 JSON 바이트로 한 번만 직렬화하여 Redis/브로커까지 그대로 전달
+            byte[] payload = objectMapper.writeValueAsBytes(chatMessageDto);
+            chatMessageTransport.publish(chatMessageDto.getRoomId(), payload);
+            return true;
+        } catch (Exception e) {
+            chatMetrics.getPublishFailed().increment();
+            if (errorLogSampler.tryAcquire()) {
+                log.error("채팅 메시지 발행 실패: roomId={}, 오류={}", chatMessageDto.getRoomId(), e.getMessage());
+            }
+            return false;
+        } finally {
+            chatMetrics.getPublish().record(System.nanoTime() - begin, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // mailbox 항목 : 메시지와 수신 시각 (대기/종단 간 시간 측정용)
+    private record Envelope(ChatMessageDto message, long receivedAt) {
+        Long roomId() {
+            return message.getRoomId();
+        }
+    }
+}
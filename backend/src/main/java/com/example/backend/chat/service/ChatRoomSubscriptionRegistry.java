@@ -0,0 +1,162 @@
+package com.example.backend.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.web.socket.messaging.SessionSubscribeEvent;
+import org.springframework.web.socket.messaging.SessionUnsubscribeEvent;
+
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 📌 이 노드의 STOMP 구독 현황에 따라 채팅방별 Redis 채널(또는 스트림)을 구독/해제
+ * - 채팅방의 첫 로컬 구독자가 생기면 구독
+ * - 마지막 로컬 구독자가 나가면(UNSUBSCRIBE, DISCONNECT) 구독 해제
+ * - 로컬 구독자가 없는 채팅방의 메시지는 이 노드로 전달되지 않음
+ * - 사용자별 채팅방 구독 변화는 ChatPresenceService에 전달하여 노드 간 공유
+ * - 구독 수 변경은 compute 안에서, Redis 구독/해제는 compute 밖에서 채팅방별 락으로 직렬화
+ *   → 구독과 해제가 겹쳐도 마지막에 실행한 쪽이 최종 구독 수에 맞춰 상태를 맞춤
+ */
+@Slf4j
+@Component
+public class ChatRoomSubscriptionRegistry {
+
+    private static final String TOPIC_PREFIX = "/topic/";
+
+    private final ChatMessageTransport chatMessageTransport;
+    private final ChatPresenceService chatPresenceService;
+
+    // 세션 ID -> (구독 ID -> 채팅방 ID)
+    private final Map<String, Map<String, Long>> subscriptionsBySession = new ConcurrentHashMap<>();
+    // 채팅방 ID -> 로컬 구독 상태
+    private final Map<Long, RoomSubscription> rooms = new ConcurrentHashMap<>();
+
+    public ChatRoomSubscriptionRegistry(ChatMessageTransport chatMessageTransport, ChatPresenceService chatPresenceService) {
+        this.chatMessageTransport = chatMessageTransport;
+        this.chatPresenceService = chatPresenceService;
+    }
+
+    @EventListener
+    public void subscribeHandle(SessionSubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Long roomId = parseRoomId(accessor.getDestination());
+        if (roomId == null || accessor.getSessionId() == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Long previous = subscriptionsBySession
+                .computeIfAbsent(accessor.getSessionId(), id -> new ConcurrentHashMap<>())
+                .put(accessor.getSubscriptionId(), roomId);
+        String email = emailOf(event.getUser());
+        if (previous != null) {
+            release(previous, email);
+        }
+        acquire(roomId, email);
+    }
+
+    @EventListener
+    public void unsubscribeHandle(SessionUnsubscribeEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        Map<String, Long> subscriptions = accessor.getSessionId() == null ? null : subscriptionsBySession.get(accessor.getSessionId());
+        if (subscriptions == null || accessor.getSubscriptionId() == null) {
+            return;
+        }
+        Long roomId = subscriptions.remove(accessor.getSubscriptionId());
+        if (roomId != null) {
+            release(roomId, emailOf(event.getUser()));
+        }
+    }
+
+    @EventListener
+    public void disconnectHandle(SessionDisconnectEvent event) {
+        Map<String, Long> subscriptions = subscriptionsBySession.remove(event.getSessionId());
+        if (subscriptions == null) {
+            return;
+        }
+        String email = emailOf(event.getUser());
+        for (Long roomId : subscriptions.values()) {
+            release(roomId, email);
+        }
+    }
+
+    /**
+     * 🔹 이 노드에 해당 채팅방의 구독자가 있는지 여부
+     */
+    public boolean hasLocalSubscribers(Long roomId) {
+        RoomSubscription room = rooms.get(roomId);
+        return room != null && room.count.get() > 0;
+    }
+
+    // 🔹 채팅방별로 원자적으로 구독 수를 증가시키고, 0 -> 1이 되면 compute 밖에서 구독
+    // 구독자 존재 여부(presence)를 먼저 등록한 뒤 구독해야 구독 직후의 메시지가 발행 생략되지 않음
+    private void acquire(Long roomId, String email) {
+        if (email != null) {
+            chatPresenceService.joinRoom(roomId, email);
+        }
+        RoomSubscription room = rooms.compute(roomId, (id, current) -> {
+            RoomSubscription state = current == null ? new RoomSubscription() : current;
+            state.count.incrementAndGet();
+            return state;
+        });
+        reconcile(roomId, room);
+    }
+
+    // 🔹 1 -> 0이 되면 compute 밖에서 구독 해제
+    private void release(Long roomId, String email) {
+        RoomSubscription room = rooms.computeIfPresent(roomId, (id, state) -> {
+            state.count.decrementAndGet();
+            return state;
+        });
+        if (room != null) {
+            reconcile(roomId, room);
+        }
+        if (email != null) {
+            chatPresenceService.leaveRoom(roomId, email);
+        }
+    }
+
+    // 🔹 현재 구독 수에 맞춰 Redis 구독 상태를 맞춤 (채팅방별로 한 스레드만 실행)
+    private void reconcile(Long roomId, RoomSubscription room) {
+        synchronized (room) {
+            boolean wanted = room.count.get() > 0;
+            if (wanted && !room.subscribed) {
+                chatMessageTransport.subscribeRoom(roomId);
+                room.subscribed = true;
+                log.debug("채팅방 메시지 구독: {}", roomId);
+            } else if (!wanted && room.subscribed) {
+                chatMessageTransport.unsubscribeRoom(roomId);
+                room.subscribed = false;
+                log.debug("채팅방 메시지 구독 해제: {}", roomId);
+            }
+        }
+        // 구독자도 없고 구독도 해제된 상태만 제거 (그 사이 다시 구독했으면 유지)
+        rooms.computeIfPresent(roomId, (id, state) ->
+                state == room && state.count.get() <= 0 && !state.subscribed ? null : state);
+    }
+
+    private String emailOf(Principal user) {
+        return user == null ? null : user.getName();
+    }
+
+    // /topic/{roomId} 형식의 구독 경로에서 방 ID 추출
+    private Long parseRoomId(String destination) {
+        if (destination == null || !destination.startsWith(TOPIC_PREFIX)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(destination.substring(TOPIC_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static final class RoomSubscription {
+        private final AtomicInteger count = new AtomicInteger();
+        // reconcile에서 room 락으로 변경, 제거 판단에서 읽으므로 volatile
+        private volatile boolean subscribed;
+    }
+}
@@ -3,26 +3,26 @@ package com.example.backend.chat.service;
 import com.example.backend.chat.domain.ChatMessage;
 import com.example.backend.chat.domain.ChatParticipant;
 import com.example.backend.chat.domain.ChatRoom;
-import com.example.backend.chat.domain.ReadStatus;
+import com.example.backend.chat.dto.ChatHistoryResDto;
 import com.example.backend.chat.dto.ChatMessageDto;
 import com.example.backend.chat.dto.ChatRoomListResDto;
 import com.example.backend.chat.dto.MyChatListResDto;
 import com.example.backend.chat.repository.ChatMessageRepository;
 import com.example.backend.chat.repository.ChatParticipantRepository;
 import com.example.backend.chat.repository.ChatRoomRepository;
-import com.example.backend.chat.repository.ReadStatusRepository;
 import com.example.backend.securitylogin.entity.UserEntity;
 import com.example.backend.securitylogin.repository.UserRepository;
+import com.example.backend.securitylogin.service.CurrentUserCache;
 import com.example.backend.securitylogin.service.oauth2.OAuthUserEntityToUserEntityService;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,23 +36,29 @@ public class ChatService {
     private final ChatRoomRepository chatRoomRepository;
     private final ChatParticipantRepository chatParticipantRepository;
     private final ChatMessageRepository chatMessageRepository;
-    private final ReadStatusRepository readStatusRepository;
     private final UserRepository memberRepository;
     private final OAuthUserEntityToUserEntityService oAuthUserService;
+    private final ChatUnreadCounterService unreadCounterService;
+    private final ChatMembershipCache membershipCache;
+    private final CurrentUserCache currentUserCache;
     
     public ChatService(
             ChatRoomRepository chatRoomRepository, 
             ChatParticipantRepository chatParticipantRepository, 
             ChatMessageRepository chatMessageRepository, 
-            ReadStatusRepository readStatusRepository, 
             UserRepository memberRepository,
-            OAuthUserEntityToUserEntityService oAuthUserService) {
+            OAuthUserEntityToUserEntityService oAuthUserService,
+            ChatUnreadCounterService unreadCounterService,
+            ChatMembershipCache membershipCache,
+            CurrentUserCache currentUserCache) {
         this.chatRoomRepository = chatRoomRepository;
         this.chatParticipantRepository = chatParticipantRepository;
         this.chatMessageRepository = chatMessageRepository;
-        this.readStatusRepository = readStatusRepository;
         this.memberRepository = memberRepository;
         this.oAuthUserService = oAuthUserService;
+        this.unreadCounterService = unreadCounterService;
+        this.membershipCache = membershipCache;
+        this.currentUserCache = currentUserCache;
     }
 
     public void saveMessage(Long roomId, ChatMessageDto chatMessageReqDto){
@@ -60,48 +66,75 @@ public class ChatService {
         ChatRoom chatRoom = chatRoomRepository.findById(roomId).orElseThrow(()-> new EntityNotFoundException("room cannot be found"));
 
 //        보낸사람조회
-        String senderEmail = chatMessageReqDto.getSenderEmail();
+        UserEntity sender = findSender(chatMessageReqDto.getSenderEmail());
+
+        Long messageId = persistMessage(chatRoom, sender, chatMessageReqDto.getMessage(),
+                chatParticipantRepository.findMemberIdsByChatRoomId(chatRoom.getId()));
+        chatRoomRepository.advanceLastMessageId(chatRoom.getId(), messageId);
+    }
+
+    /**
+     * 여러 메시지를 한 트랜잭션으로 저장 (write-behind 큐에서 사용)
+     * - 같은 배치 안에서는 채팅방, 보낸 사람, 참여자 목록을 한 번씩만 조회
+     * - 채팅방의 마지막 메시지 ID는 배치가 끝난 뒤 채팅방마다 한 번만 갱신
+     * @param chatMessageReqDtos roomId가 채워진 메시지 목록 (저장 순서 = 목록 순서)
+     */
+    public void saveMessages(List<ChatMessageDto> chatMessageReqDtos){
+        Map<Long, ChatRoom> chatRooms = new HashMap<>();
+        Map<String, UserEntity> senders = new HashMap<>();
+        Map<Long, List<Long>> memberIdsByRoom = new HashMap<>();
+        Map<Long, Long> lastMessageIds = new HashMap<>();
+
+        for (ChatMessageDto chatMessageReqDto : chatMessageReqDtos) {
+            ChatRoom chatRoom = chatRooms.computeIfAbsent(chatMessageReqDto.getRoomId(),
+                    id -> chatRoomRepository.findById(id).orElseThrow(()-> new EntityNotFoundException("room cannot be found")));
+            UserEntity sender = senders.computeIfAbsent(chatMessageReqDto.getSenderEmail(), this::findSender);
+            List<Long> memberIds = memberIdsByRoom.computeIfAbsent(chatRoom.getId(), chatParticipantRepository::findMemberIdsByChatRoomId);
+            Long messageId = persistMessage(chatRoom, sender, chatMessageReqDto.getMessage(), memberIds);
+            lastMessageIds.merge(chatRoom.getId(), messageId, Math::max);
+        }
+        lastMessageIds.forEach(chatRoomRepository::advanceLastMessageId);
+    }
+
+    private UserEntity findSender(String senderEmail){
         // 이메일 형식 처리 - 점(.)이 공백으로 대체된 경우도 처리
-        UserEntity sender = null;
         try {
-            sender = memberRepository.findByEmail(senderEmail)
+            // 보낸 사람 ID가 캐시에 있으면 조회 쿼리 없이 참조 사용
+            return currentUserCache.findByEmail(senderEmail)
                     .orElseThrow(() -> new EntityNotFoundException("member cannot be found with email: " + senderEmail));
         } catch (EntityNotFoundException e) {
             // 점(.)을 공백으로 치환해서 다시 시도
             if (senderEmail.contains(" ")) {
                 String altEmail = senderEmail.replace(" ", ".");
                 logger.info("대체 이메일 형식으로 검색 시도: " + altEmail);
-                sender = memberRepository.findByEmail(altEmail)
+                return memberRepository.findByEmail(altEmail)
                         .orElseThrow(() -> new EntityNotFoundException("member cannot be found with alternative email: " + altEmail));
-            } else {
-                throw e;
             }
+            throw e;
         }
+    }
 
+//    저장한 메시지 ID 반환 (채팅방의 마지막 메시지 ID는 호출한 쪽에서 advanceLastMessageId로 갱신)
+    private Long persistMessage(ChatRoom chatRoom, UserEntity sender, String content, List<Long> participantMemberIds){
 //        메시지저장
         ChatMessage chatMessage = ChatMessage.builder()
                 .chatRoom(chatRoom)
                 .member(sender)
-                .content(chatMessageReqDto.getMessage())
+                .content(content)
                 .build();
         chatMessageRepository.save(chatMessage);
-//        사용자별로 읽음여부 저장
-        List<ChatParticipant> chatParticipants = chatParticipantRepository.findByChatRoom(chatRoom);
-        for(ChatParticipant c : chatParticipants){
-            ReadStatus readStatus = ReadStatus.builder()
-                    .chatRoom(chatRoom)
-                    .member(c.getMember())
-                    .chatMessage(chatMessage)
-                    .isRead(c.getMember().equals(sender))
-                    .build();
-            readStatusRepository.save(readStatus);
-        }
+//        읽음여부는 참여자별 읽음 커서(lastReadMessageId)로 계산하므로 메시지마다 따로 저장하지 않음
+//        보낸 사람을 제외한 참여자들의 안 읽은 메시지 수 캐시 증가
+        List<Long> memberIds = new ArrayList<>(participantMemberIds);
+        memberIds.remove(sender.getId());
+        unreadCounterService.increment(chatRoom.getId(), chatMessage.getId(), memberIds);
+        return chatMessage.getId();
     }
 
     public void createGroupRoom(String chatRoomName){
         // 현재 인증된 사용자의 UserEntity 가져오기 - 개선된 서비스 사용
         UserEntity member = oAuthUserService.getCurrentUserEntityFromOAuth();
-        logger.info("채팅방 생성 사용자: " + member.getEmail());
+        logger.fine(() -> "채팅방 생성 사용자: " + member.getEmail());
 
 //        채팅방 생성
         ChatRoom chatRoom = ChatRoom.builder()
@@ -152,7 +185,7 @@ public class ChatService {
         
         // 페이지 정보
         Map<String, Object> pageInfo = new HashMap<>();
-        pageInfo.put("page", page);
+        pageInfo.put("page", effectivePage);
         pageInfo.put("size", size);
         pageInfo.put("total", chatRoomsPage.getTotalElements());
         pageInfo.put("totalPages", chatRoomsPage.getTotalPages());
@@ -205,7 +238,7 @@ public class ChatService {
         
         // 페이지 정보
         Map<String, Object> pageInfo = new HashMap<>();
-        pageInfo.put("page", page);
+        pageInfo.put("page", effectivePage);
         pageInfo.put("size", size);
         pageInfo.put("total", chatRoomsPage.getTotalElements());
         pageInfo.put("totalPages", chatRoomsPage.getTotalPages());
@@ -258,12 +291,16 @@ public class ChatService {
         logger.info("=== 그룹 채팅방 참여 완료 ===");
     }
 //        ChatParticipant객체생성 후 저장
+//        참여 이전의 메시지는 안 읽은 메시지로 세지 않도록 현재 마지막 메시지까지 읽은 것으로 시작 (메시지가 없으면 0)
     public void addParticipantToRoom(ChatRoom chatRoom, UserEntity member){
+        Long lastMessageId = chatMessageRepository.findLastMessageIdByChatRoomId(chatRoom.getId());
         ChatParticipant chatParticipant = ChatParticipant.builder()
                 .chatRoom(chatRoom)
                 .member(member)
+                .lastReadMessageId(lastMessageId == null ? 0L : lastMessageId)
                 .build();
         chatParticipantRepository.save(chatParticipant);
+        membershipCache.invalidate(chatRoom.getId(), member.getEmail());
     }
 
     public List<ChatMessageDto> getChatHistory(Long roomId){
@@ -272,60 +309,102 @@ public class ChatService {
         
         // 현재 인증된 사용자의 UserEntity 가져오기 - 개선된 서비스 사용
         UserEntity member = oAuthUserService.getCurrentUserEntityFromOAuth();
-        logger.info("채팅 내역 조회 사용자: " + member.getEmail());
+        logger.fine(() -> "채팅 내역 조회 사용자: " + member.getEmail());
         
-        List<ChatParticipant> chatParticipants = chatParticipantRepository.findByChatRoom(chatRoom);
-        boolean check = false;
-        for(ChatParticipant c : chatParticipants){
-            if(c.getMember().equals(member)){
-                check = true;
-            }
-        }
-        if(!check)throw new IllegalArgumentException("본인이 속하지 않은 채팅방입니다.");
-//        특정 room에 대한 message조회
-        List<ChatMessage> chatMessages = chatMessageRepository.findByChatRoomOrderByCreatedTimeAsc(chatRoom);
-        List<ChatMessageDto> chatMessageDtos = new ArrayList<>();
-        for(ChatMessage c : chatMessages){
-            ChatMessageDto chatMessageDto = ChatMessageDto.builder()
-                    .message(c.getContent())
-                    .senderEmail(c.getMember().getEmail())
-                    .build();
-            chatMessageDtos.add(chatMessageDto);
+        if(chatParticipantRepository.findByChatRoomAndMember(chatRoom, member).isEmpty()){
+            throw new IllegalArgumentException("본인이 속하지 않은 채팅방입니다.");
         }
-        return chatMessageDtos;
+//        특정 room에 대한 message조회 (보낸 사람까지 한 번의 쿼리로 조회)
+        return chatMessageRepository.findHistoryByChatRoomId(roomId);
     }
 
-    public boolean isRoomPaticipant(String email, Long roomId){
+    /**
+     * 채팅 내역 조회 (커서 기반 페이지네이션)
+     * @param roomId 채팅방 ID
+     * @param beforeId 이 메시지 ID 이전의 메시지만 조회 (null이면 최신 메시지부터)
+     * @param size 조회할 메시지 수
+     * @return 오래된 순으로 정렬된 메시지 목록과 다음 요청에 사용할 커서
+     */
+    public Map<String, Object> getChatHistory(Long roomId, Long beforeId, int size){
         ChatRoom chatRoom = chatRoomRepository.findById(roomId).orElseThrow(()-> new EntityNotFoundException("room cannot be found"));
-        UserEntity member = memberRepository.findByEmail(email).orElseThrow(()->new EntityNotFoundException("member cannot be found"));
+        UserEntity member = oAuthUserService.getCurrentUserEntityFromOAuth();
 
-        List<ChatParticipant> chatParticipants = chatParticipantRepository.findByChatRoom(chatRoom);
-        for(ChatParticipant c : chatParticipants){
-            if(c.getMember().equals(member)){
-                return true;
-            }
+        if(chatParticipantRepository.findByChatRoomAndMember(chatRoom, member).isEmpty()){
+            throw new IllegalArgumentException("본인이 속하지 않은 채팅방입니다.");
+        }
+
+//        다음 페이지 존재 여부 확인을 위해 한 개 더 조회
+        List<ChatHistoryResDto> messages = new ArrayList<>(chatMessageRepository.findHistoryBefore(
+                roomId, beforeId == null ? Long.MAX_VALUE : beforeId, PageRequest.of(0, size + 1)));
+        boolean hasMore = messages.size() > size;
+        if (hasMore) {
+            messages.remove(messages.size() - 1);
         }
-        return false;
+//        최신순으로 조회했으므로 화면 표시용으로 오래된 순으로 뒤집음
+        Collections.reverse(messages);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("messages", messages);
+        result.put("nextCursor", messages.isEmpty() ? null : messages.get(0).getMessageId());
+        result.put("hasMore", hasMore);
+        return result;
+    }
+
+    /**
+     * 현재 사용자가 채팅방 참여자인지 확인 (참여자가 아니면 예외)
+     */
+    public void validateParticipant(Long roomId){
+        if(!membershipCache.isMember(roomId, oAuthUserService.getCurrentUserEmail())){
+            throw new IllegalArgumentException("본인이 속하지 않은 채팅방입니다.");
+        }
+    }
+
+    public boolean isRoomPaticipant(String email, Long roomId){
+        return membershipCache.isMember(roomId, email);
     }
 
     public void messageRead(Long roomId){
         ChatRoom chatRoom = chatRoomRepository.findById(roomId).orElseThrow(()-> new EntityNotFoundException("room cannot be found"));
-        UserEntity member = memberRepository.findByEmail(SecurityContextHolder.getContext().getAuthentication().getName()).orElseThrow(()->new EntityNotFoundException("member cannot be found"));
-        List<ReadStatus> readStatuses = readStatusRepository.findByChatRoomAndMember(chatRoom, member);
-        for(ReadStatus r : readStatuses){
-            r.updateIsRead(true);
+        UserEntity member = oAuthUserService.getCurrentUserEntityFromOAuth();
+//        읽음 커서를 채팅방의 마지막 메시지로 이동 (메시지 수와 상관없이 한 행만 변경)
+        ChatParticipant participant = chatParticipantRepository.findByChatRoomAndMember(chatRoom, member).orElseThrow(()->new EntityNotFoundException("참여자를 찾을 수 없습니다."));
+        participant.updateLastReadMessageId(chatMessageRepository.findLastMessageIdByChatRoomId(chatRoom.getId()));
+        unreadCounterService.reset(member.getId(), chatRoom.getId());
+    }
+
+//    참여 중인 채팅방들의 안 읽은 메시지 수 (Redis 캐시 한 번 조회, 캐시에 없는 방만 DB에서 계산)
+    private Map<Long, Long> getUnreadCounts(UserEntity member, List<ChatParticipant> participants){
+        Map<Long, ChatParticipant> participantByRoomId = new HashMap<>();
+        for (ChatParticipant participant : participants) {
+            participantByRoomId.put(participant.getChatRoom().getId(), participant);
         }
+        return unreadCounterService.getUnreadCounts(member.getId(), new ArrayList<>(participantByRoomId.keySet()),
+                roomId -> countUnreadMessages(participantByRoomId.get(roomId)));
+    }
+
+//    읽음 커서 이후에 다른 사람이 보낸 메시지 수 (마지막 메시지 ID까지 세고 그 ID를 함께 반환)
+    private ChatUnreadCounterService.UnreadCount countUnreadMessages(ChatParticipant participant){
+        Long roomId = participant.getChatRoom().getId();
+        Long lastReadMessageId = participant.getLastReadMessageId() == null ? 0L : participant.getLastReadMessageId();
+        Long lastMessageId = chatMessageRepository.findLastMessageIdByChatRoomId(roomId);
+        if (lastMessageId == null || lastMessageId <= lastReadMessageId) {
+            return new ChatUnreadCounterService.UnreadCount(0, lastMessageId == null ? 0 : lastMessageId);
+        }
+        long count = chatMessageRepository.countUnreadMessages(
+                roomId, participant.getMember().getId(), lastReadMessageId, lastMessageId);
+        return new ChatUnreadCounterService.UnreadCount(count, lastMessageId);
     }
 
     public List<MyChatListResDto> getMyChatRooms(){
         // 현재 인증된 사용자의 UserEntity 가져오기 - 개선된 서비스 사용
         UserEntity member = oAuthUserService.getCurrentUserEntityFromOAuth();
-        logger.info("내 채팅방 조회 사용자: " + member.getEmail());
+        logger.fine(() -> "내 채팅방 조회 사용자: " + member.getEmail());
         
         List<ChatParticipant> chatParticipants = chatParticipantRepository.findAllByMember(member);
+        Map<Long, Long> unreadCounts = getUnreadCounts(member, chatParticipants);
         List<MyChatListResDto> chatListResDtos = new ArrayList<>();
         for(ChatParticipant c : chatParticipants){
-            Long count = readStatusRepository.countByChatRoomAndMemberAndIsReadFalse(c.getChatRoom(), member);
+            Long count = unreadCounts.get(c.getChatRoom().getId());
             MyChatListResDto dto = MyChatListResDto.builder()
                     .roomId(c.getChatRoom().getId())
                     .roomName(c.getChatRoom().getName())
@@ -345,12 +424,13 @@ public class ChatService {
     public List<MyChatListResDto> searchMyChatRooms(String keyword){
         // 현재 인증된 사용자의 UserEntity 가져오기
         UserEntity member = oAuthUserService.getCurrentUserEntityFromOAuth();
-        logger.info("내 채팅방 검색 - 사용자: " + member.getEmail() + ", 검색어: '" + keyword + "'");
+        logger.fine(() -> "내 채팅방 검색 - 사용자: " + member.getEmail() + ", 검색어: '" + keyword + "'");
         
         List<ChatParticipant> chatParticipants = chatParticipantRepository.findAllByMember(member);
         logger.info("사용자가 참여한 전체 채팅방 수: " + chatParticipants.size());
         
         List<MyChatListResDto> chatListResDtos = new ArrayList<>();
+        List<ChatParticipant> matchedParticipants = new ArrayList<>();
         int matchCount = 0;
         
         for(ChatParticipant c : chatParticipants){
@@ -370,16 +450,20 @@ public class ChatService {
             }
             
             if (matches) {
-                Long count = readStatusRepository.countByChatRoomAndMemberAndIsReadFalse(c.getChatRoom(), member);
-                MyChatListResDto dto = MyChatListResDto.builder()
-                        .roomId(c.getChatRoom().getId())
-                        .roomName(roomName)
-                        .isGroupChat(c.getChatRoom().getIsGroupChat())
-                        .unReadCount(count)
-                        .build();
-                chatListResDtos.add(dto);
+                matchedParticipants.add(c);
             }
         }
+
+        Map<Long, Long> unreadCounts = getUnreadCounts(member, matchedParticipants);
+        for(ChatParticipant c : matchedParticipants){
+            MyChatListResDto dto = MyChatListResDto.builder()
+                    .roomId(c.getChatRoom().getId())
+                    .roomName(c.getChatRoom().getName())
+                    .isGroupChat(c.getChatRoom().getIsGroupChat())
+                    .unReadCount(unreadCounts.get(c.getChatRoom().getId()))
+                    .build();
+            chatListResDtos.add(dto);
+        }
         
         logger.info("검색 결과: 총 " + chatListResDtos.size() + "개 채팅방 찾음 (검색어 일치: " + matchCount + "개)");
         
@@ -397,24 +481,27 @@ public class ChatService {
         ChatRoom chatRoom = chatRoomRepository.findById(roomId).orElseThrow(()-> new EntityNotFoundException("room cannot be found"));
         // 현재 인증된 사용자의 UserEntity 가져오기 - 개선된 서비스 사용
         UserEntity member = oAuthUserService.getCurrentUserEntityFromOAuth();
-        logger.info("채팅방 나가기 사용자: " + member.getEmail());
+        logger.fine(() -> "채팅방 나가기 사용자: " + member.getEmail());
         
         if(chatRoom.getIsGroupChat().equals("N")){
             throw new IllegalArgumentException("단체 채팅방이 아닙니다.");
         }
         ChatParticipant c = chatParticipantRepository.findByChatRoomAndMember(chatRoom, member).orElseThrow(()->new EntityNotFoundException("참여자를 찾을 수 없습니다."));
         chatParticipantRepository.delete(c);
+        unreadCounterService.remove(member.getId(), chatRoom.getId());
+        membershipCache.invalidate(chatRoom.getId(), member.getEmail());
 
         List<ChatParticipant> chatParticipants = chatParticipantRepository.findByChatRoom(chatRoom);
         if(chatParticipants.isEmpty()){
             chatRoomRepository.delete(chatRoom);
+            membershipCache.invalidateRoom(chatRoom.getId());
         }
     }
 
     public Long getOrCreatePrivateRoom(Long otherMemberId){
         // 현재 인증된 사용자의 UserEntity 가져오기 - 개선된 서비스 사용
         UserEntity member = oAuthUserService.getCurrentUserEntityFromOAuth();
-        logger.info("1:1 채팅방 생성/조회 사용자: " + member.getEmail());
+        logger.fine(() -> "1:1 채팅방 생성/조회 사용자: " + member.getEmail());
         
         UserEntity otherMember = memberRepository.findById(otherMemberId).orElseThrow(()->new EntityNotFoundException("member cannot be found"));
 
@@ -456,75 +543,40 @@ public class ChatService {
     public Map<String, Object> searchMyChatRoomsWithPaging(String keyword, int page, int size) {
         // 현재 인증된 사용자의 UserEntity 가져오기
         UserEntity member = oAuthUserService.getCurrentUserEntityFromOAuth();
-        logger.info("내 채팅방 검색 (페이지네이션) - 사용자: " + member.getEmail() 
+        logger.fine(() -> "내 채팅방 검색 (페이지네이션) - 사용자: " + member.getEmail() 
             + ", 검색어: '" + keyword + "', 페이지: " + page + ", 크기: " + size);
-        
-        // 사용자가 참여한 모든 채팅방 가져오기
-        List<ChatParticipant> allChatParticipants = chatParticipantRepository.findAllByMember(member);
-        logger.info("사용자가 참여한 전체 채팅방 수: " + allChatParticipants.size());
-        
-        // 검색어로 필터링
-        List<ChatParticipant> filteredParticipants = new ArrayList<>();
-        for (ChatParticipant participant : allChatParticipants) {
-            String roomName = participant.getChatRoom().getName();
-            
-            if (keyword == null || keyword.trim().isEmpty() || 
-                roomName.toLowerCase().contains(keyword.trim().toLowerCase())) {
-                filteredParticipants.add(participant);
-            }
-        }
-        
-        // 전체 필터링된 아이템 수
-        int totalItems = filteredParticipants.size();
-        logger.info("필터링된 채팅방 수: " + totalItems);
-        
-        // 페이지네이션 계산
-        int startIndex = page * size;
-        int endIndex = Math.min(startIndex + size, totalItems);
-        
-        // 페이지 범위를 벗어나는 경우
-        if (startIndex >= totalItems) {
-            startIndex = 0;
-            endIndex = Math.min(size, totalItems);
-            page = 0;
-        }
-        
-        // 현재 페이지에 표시할 채팅방만 추출
-        List<ChatParticipant> pagedParticipants = filteredParticipants.subList(startIndex, endIndex);
-        logger.info("현재 페이지 채팅방 수: " + pagedParticipants.size());
-        
-        // DTO 변환
-        List<MyChatListResDto> chatListResDtos = new ArrayList<>();
-        for (ChatParticipant participant : pagedParticipants) {
-            Long unreadCount = readStatusRepository.countByChatRoomAndMemberAndIsReadFalse(
-                participant.getChatRoom(), member);
-            
-            MyChatListResDto dto = MyChatListResDto.builder()
-                .roomId(participant.getChatRoom().getId())
-                .roomName(participant.getChatRoom().getName())
-                .isGroupChat(participant.getChatRoom().getIsGroupChat())
-                .unReadCount(unreadCount)
-                .build();
-            
-            chatListResDtos.add(dto);
+
+        // LIKE 와일드카드(%, _)는 일반 문자로 검색되도록 '!'로 이스케이프
+        String searchKeyword = (keyword == null || keyword.trim().isEmpty()) ? null
+                : keyword.trim().replace("!", "!!").replace("%", "!%").replace("_", "!_");
+
+        // 검색, 정렬(최근 활동순), 페이지네이션, 안 읽은 메시지 수 계산을 한 번의 쿼리로 처리
+        Page<MyChatListResDto> roomsPage = chatParticipantRepository.findMyChatRooms(
+            member.getId(), searchKeyword, PageRequest.of(page, size));
+
+        // 페이지 범위를 벗어나는 경우 첫 페이지 반환
+        int effectivePage = page;
+        if (roomsPage.getContent().isEmpty() && page > 0 && roomsPage.getTotalElements() > 0) {
+            effectivePage = 0;
+            roomsPage = chatParticipantRepository.findMyChatRooms(member.getId(), searchKeyword, PageRequest.of(effectivePage, size));
         }
-        
+
         // 페이지 정보
         Map<String, Object> pageInfo = new HashMap<>();
-        pageInfo.put("page", page);
+        pageInfo.put("page", effectivePage);
         pageInfo.put("size", size);
-        pageInfo.put("total", totalItems);
-        pageInfo.put("totalPages", (int) Math.ceil((double) totalItems / size));
-        pageInfo.put("hasNext", endIndex < totalItems);
-        pageInfo.put("hasPrevious", page > 0);
+        pageInfo.put("total", roomsPage.getTotalElements());
+        pageInfo.put("totalPages", roomsPage.getTotalPages());
+        pageInfo.put("hasNext", roomsPage.hasNext());
+        pageInfo.put("hasPrevious", roomsPage.hasPrevious());
         
         // 결과 맵
         Map<String, Object> result = new HashMap<>();
-        result.put("rooms", chatListResDtos);
+        result.put("rooms", roomsPage.getContent());
         result.put("pageInfo", pageInfo);
         
         logger.info("페이지네이션 응답 완료 - 페이지 " + page + ", 크기 " + size 
-            + ", 전체 " + totalItems + " 중 " + chatListResDtos.size() + "개 반환");
+            + ", 전체 " + roomsPage.getTotalElements() + " 중 " + roomsPage.getContent().size() + "개 반환");
         
         return result;
     }
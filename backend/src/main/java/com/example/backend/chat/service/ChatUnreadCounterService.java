@@ -0,0 +1,250 @@
+package com.example.backend.chat.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * 📌 Redis 기반 안 읽은 메시지 수 캐시
+ * - 사용자별 해시 하나(chat:unread:{memberId})에 채팅방 ID -> 안 읽은 메시지 수 저장
+ * - 메시지 저장 시 증가, 읽음 처리 시 0으로 초기화, 캐시에 없으면 DB에서 다시 계산
+ * - 내 채팅방 목록은 HMGET 한 번으로 모든 방의 개수를 조회
+ * - 캐시에 없는 방을 DB에서 계산할 때
+ *   1) loading:{roomId}에 토큰을 남긴 뒤 새 트랜잭션(새 스냅샷)에서 개수와 계산에 포함된 마지막 메시지 ID를 함께 조회
+ *   2) 계산 중 커밋된 메시지의 ID는 pending:{roomId}에 모아 두고
+ *   3) 저장할 때 계산에 포함된 마지막 ID보다 큰 메시지만 더함 → 증가분 유실도, 중복 집계도 없음
+ */
+@Slf4j
+@Service
+public class ChatUnreadCounterService {
+
+    private static final String UNREAD_KEY_PREFIX = "chat:unread:"; // 🔹 Redis Key Prefix
+    private static final long UNREAD_TTL_SECONDS = 7 * 24 * 60 * 60;
+
+    // 🔹 이미 캐시된 방은 증가, DB에서 계산 중인 방은 메시지 ID를 pending에 기록
+    // (둘 다 아닌 방은 다음 조회 때 DB에서 정확한 값으로 다시 계산)
+    // KEYS=chat:unread:{memberId}..., ARGV[1]=채팅방 ID, ARGV[2]=메시지 ID
+    private static final RedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>(
+            "local updated = 0 " +
+            "for i, key in ipairs(KEYS) do " +
+            "  if redis.call('HEXISTS', key, ARGV[1]) == 1 then " +
+            "    redis.call('HINCRBY', key, ARGV[1], 1) " +
+            "    updated = updated + 1 " +
+            "  elseif redis.call('HEXISTS', key, 'loading:' .. ARGV[1]) == 1 then " +
+            "    local pending = redis.call('HGET', key, 'pending:' .. ARGV[1]) " +
+            "    redis.call('HSET', key, 'pending:' .. ARGV[1], pending and (pending .. ',' .. ARGV[2]) or ARGV[2]) " +
+            "  end " +
+            "end " +
+            "return updated", Long.class);
+
+    // 🔹 DB 계산 시작 표시 : 방마다 loading 토큰 기록, 이전 pending 초기화
+    // KEYS[1]=chat:unread:{memberId}, ARGV[1]=토큰, ARGV[2]=TTL(초), ARGV[3..]=채팅방 ID
+    private static final RedisScript<Long> MARK_LOADING_SCRIPT = new DefaultRedisScript<>(
+            "for i = 3, #ARGV do " +
+            "  redis.call('HSET', KEYS[1], 'loading:' .. ARGV[i], ARGV[1]) " +
+            "  redis.call('HDEL', KEYS[1], 'pending:' .. ARGV[i]) " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1", Long.class);
+
+    // 🔹 DB 계산 결과 저장 : 같은 토큰으로 시작한 계산만 반영
+    // - pending 중 계산에 포함된 마지막 메시지 ID보다 큰 것만 더해 값이 없을 때만 저장(HSETNX)
+    // KEYS[1]=chat:unread:{memberId}, ARGV[1]=토큰, ARGV[2]=TTL(초), ARGV[3..]=채팅방 ID, 개수, 마지막 메시지 ID 반복
+    private static final RedisScript<Long> FILL_SCRIPT = new DefaultRedisScript<>(
+            "local filled = 0 " +
+            "for i = 3, #ARGV, 3 do " +
+            "  local room = ARGV[i] " +
+            "  if redis.call('HGET', KEYS[1], 'loading:' .. room) == ARGV[1] then " +
+            "    local count = tonumber(ARGV[i + 1]) " +
+            "    local counted = tonumber(ARGV[i + 2]) " +
+            "    local pending = redis.call('HGET', KEYS[1], 'pending:' .. room) " +
+            "    if pending then " +
+            "      for id in string.gmatch(pending, '[^,]+') do " +
+            "        if tonumber(id) > counted then count = count + 1 end " +
+            "      end " +
+            "    end " +
+            "    filled = filled + redis.call('HSETNX', KEYS[1], room, count) " +
+            "    redis.call('HDEL', KEYS[1], 'loading:' .. room, 'pending:' .. room) " +
+            "  end " +
+            "end " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return filled", Long.class);
+
+    // 🔹 읽음 처리 : 0으로 초기화하고 TTL 갱신
+    // KEYS[1]=chat:unread:{memberId}, ARGV[1]=채팅방 ID, ARGV[2]=TTL(초)
+    private static final RedisScript<Long> RESET_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('HSET', KEYS[1], ARGV[1], 0) " +
+            "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "return 1", Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final TransactionTemplate loadTransaction;
+
+    public ChatUnreadCounterService(RedisTemplate<String, String> redisTemplate, PlatformTransactionManager transactionManager) {
+        this.redisTemplate = redisTemplate;
+        // 🔹 DB 계산은 loading 표시 이후에 시작하는 새 트랜잭션에서 실행 (호출한 쪽 트랜잭션의 이전 스냅샷을 쓰지 않도록)
+        this.loadTransaction = new TransactionTemplate(transactionManager);
+        this.loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.loadTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 🔹 DB에서 계산한 안 읽은 메시지 수와 계산에 포함된 마지막 메시지 ID
+     */
+    public record UnreadCount(long count, long lastCountedMessageId) {
+    }
+
+    /**
+     * 🔹 새 메시지가 저장된 채팅방의 참여자들(보낸 사람 제외) 카운터 증가
+     * - 트랜잭션 안에서 호출되면 커밋 이후에 반영
+     */
+    public void increment(Long roomId, Long messageId, List<Long> memberIds) {
+        if (memberIds.isEmpty()) {
+            return;
+        }
+        List<String> keys = new ArrayList<>(memberIds.size());
+        for (Long memberId : memberIds) {
+            keys.add(key(memberId));
+        }
+        afterCommit(() -> redisTemplate.execute(INCREMENT_SCRIPT, keys, String.valueOf(roomId), String.valueOf(messageId)));
+    }
+
+    /**
+     * 🔹 읽음 처리한 채팅방의 카운터를 0으로 초기화
+     */
+    public void reset(Long memberId, Long roomId) {
+        afterCommit(() -> redisTemplate.execute(RESET_SCRIPT, List.of(key(memberId)),
+                String.valueOf(roomId), String.valueOf(UNREAD_TTL_SECONDS)));
+    }
+
+    /**
+     * 🔹 채팅방을 나간 경우 카운터 삭제
+     */
+    public void remove(Long memberId, Long roomId) {
+        String field = String.valueOf(roomId);
+        afterCommit(() -> redisTemplate.opsForHash().delete(key(memberId), field, "loading:" + field, "pending:" + field));
+    }
+
+    /**
+     * 🔹 여러 채팅방의 안 읽은 메시지 수 조회
+     * - HMGET 한 번으로 조회하고, 캐시에 없는 방만 loader(DB)로 계산하여 다시 저장
+     * - 계산 전에 loading 토큰을 남기고, loader는 그 이후에 시작하는 새 트랜잭션에서 실행
+     * - 저장은 FILL_SCRIPT로 계산 중 커밋된 메시지와 함께 원자적으로 처리
+     * - Redis 장애 시에는 모든 방을 DB에서 계산
+     */
+    public Map<Long, Long> getUnreadCounts(Long memberId, List<Long> roomIds, Function<Long, UnreadCount> loader) {
+        Map<Long, Long> counts = new HashMap<>();
+        if (roomIds.isEmpty()) {
+            return counts;
+        }
+
+        String key = key(memberId);
+        List<Object> fields = new ArrayList<>(roomIds.size());
+        for (Long roomId : roomIds) {
+            fields.add(String.valueOf(roomId));
+        }
+
+        List<Object> cached;
+        try {
+            cached = redisTemplate.opsForHash().multiGet(key, fields);
+        } catch (Exception e) {
+            log.warn("안 읽은 메시지 수 캐시 조회 실패, DB에서 계산: {}", e.getMessage());
+            for (Long roomId : roomIds) {
+                counts.put(roomId, loader.apply(roomId).count());
+            }
+            return counts;
+        }
+
+        List<Long> missing = new ArrayList<>();
+        for (int i = 0; i < roomIds.size(); i++) {
+            Object value = cached.get(i);
+            if (value != null) {
+                counts.put(roomIds.get(i), Long.parseLong(value.toString()));
+            } else {
+                missing.add(roomIds.get(i));
+            }
+        }
+        if (missing.isEmpty()) {
+            return counts;
+        }
+
+        // DB 계산을 시작하기 전에 표시해야 계산 중 커밋된 메시지가 pending으로 기록됨
+        String token = UUID.randomUUID().toString();
+        String ttl = String.valueOf(UNREAD_TTL_SECONDS);
+        boolean marked;
+        try {
+            List<String> markArgs = new ArrayList<>(missing.size() + 2);
+            markArgs.add(token);
+            markArgs.add(ttl);
+            for (Long roomId : missing) {
+                markArgs.add(String.valueOf(roomId));
+            }
+            redisTemplate.execute(MARK_LOADING_SCRIPT, List.of(key), markArgs.toArray());
+            marked = true;
+        } catch (Exception e) {
+            log.warn("안 읽은 메시지 수 캐시 계산 표시 실패: {}", e.getMessage());
+            marked = false;
+        }
+
+        List<String> fillArgs = new ArrayList<>(missing.size() * 3 + 2);
+        fillArgs.add(token);
+        fillArgs.add(ttl);
+        loadTransaction.executeWithoutResult(status -> {
+            for (Long roomId : missing) {
+                UnreadCount loaded = loader.apply(roomId);
+                counts.put(roomId, loaded.count());
+                fillArgs.add(String.valueOf(roomId));
+                fillArgs.add(String.valueOf(loaded.count()));
+                fillArgs.add(String.valueOf(loaded.lastCountedMessageId()));
+            }
+        });
+
+        if (marked) {
+            try {
+                redisTemplate.execute(FILL_SCRIPT, List.of(key), fillArgs.toArray());
+            } catch (Exception e) {
+                log.warn("안 읽은 메시지 수 캐시 저장 실패: {}", e.getMessage());
+            }
+        }
+        return counts;
+    }
+
+    private String key(Long memberId) {
+        return UNREAD_KEY_PREFIX + memberId;
+    }
+
+    // 🔹 DB 트랜잭션이 롤백되면 캐시도 변경하지 않도록 커밋 이후에 실행
+    private void afterCommit(Runnable action) {
+        Runnable safeAction = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                log.warn("안 읽은 메시지 수 캐시 갱신 실패: {}", e.getMessage());
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safeAction.run();
+                }
+            });
+        } else {
+            safeAction.run();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.backend.chat.service;
+
+import com.example.backend.chat.repository.ChatParticipantRepository;
+import com.example.backend.common.domain.DataMigration;
+import com.example.backend.common.repository.DataMigrationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * 기존 read_status(메시지 x 참여자) 데이터를 참여자별 읽음 커서로 옮기는 일회성 마이그레이션
+ * - 애플리케이션 시작 시 실행, 적용 여부는 data_migration 테이블(DataMigration)에 기록하여 한 번만 실행
+ * - 새로 참여하는 사용자의 커서는 항상 값이 있으므로(빈 채팅방은 0) 커서가 비어 있는 참여자는 기존 데이터뿐
+ * - 커서가 비어 있는 참여자가 없으면(새로 설치한 환경) read_status 조회 없이 적용 기록만 남김
+ * - 마이그레이션 완료 후 read_status 테이블은 삭제해도 됨
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReadCursorMigrationService {
+
+    static final String MIGRATION_NAME = "chat-read-cursor-from-read-status";
+
+    private final ChatParticipantRepository chatParticipantRepository;
+    private final DataMigrationRepository dataMigrationRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void migrate() {
+        if (dataMigrationRepository.existsById(MIGRATION_NAME)) {
+            return;
+        }
+        int updated = 0;
+        if (chatParticipantRepository.existsByLastReadMessageIdIsNull()) {
+            log.info("읽음 커서 마이그레이션 시작");
+            updated = chatParticipantRepository.migrateReadCursorsFromReadStatus();
+        }
+        // 다른 노드가 먼저 기록했으면 PK 충돌로 이 트랜잭션(커서 변경 포함)은 롤백됨
+        dataMigrationRepository.saveAndFlush(new DataMigration(MIGRATION_NAME));
+        log.info("읽음 커서 마이그레이션 완료: {}명의 참여자 커서 초기화", updated);
+    }
+}
@@ -1,62 +1,71 @@
 package com.example.backend.chat.service;
 
-import com.example.backend.chat.dto.ChatMessageDto;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
-import org.springframework.messaging.simp.SimpMessageSendingOperations;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 
 @Service
-public class RedisPubSubService implements MessageListener {
+@ConditionalOnProperty(name = "chat.transport", havingValue = "pubsub", matchIfMissing = true)
+public class RedisPubSubService implements MessageListener, ChatMessageTransport {
+
+    private static final String CHANNEL_PREFIX = "chat:";
 
     private final StringRedisTemplate stringRedisTemplate;
-    private final SimpMessageSendingOperations messageTemplate;
-    private final ObjectMapper objectMapper;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ChatMessageDeliveryService deliveryService;
 
     public RedisPubSubService(@Qualifier("chatPubSub") StringRedisTemplate stringRedisTemplate, 
-                             SimpMessageSendingOperations messageTemplate,
-                             ObjectMapper objectMapper) {
+                             RedisMessageListenerContainer listenerContainer,
+                             ChatMessageDeliveryService deliveryService) {
         this.stringRedisTemplate = stringRedisTemplate;
-        this.messageTemplate = messageTemplate;
-        this.objectMapper = objectMapper;
+        this.listenerContainer = listenerContainer;
+        this.deliveryService = deliveryService;
+    }
+
+    // 채팅방별 Redis 채널 이름 (chat:{roomId})
+    public static String channelOf(Long roomId) {
+        return CHANNEL_PREFIX + roomId;
+    }
+
+    // 채널 이름(chat:{roomId})의 바이트에서 roomId를 문자열 변환 없이 추출
+    static Long roomIdOf(byte[] channel) {
+        long roomId = 0;
+        for (int i = CHANNEL_PREFIX.length(); i < channel.length; i++) {
+            roomId = roomId * 10 + (channel[i] - '0');
+        }
+        return roomId;
+    }
+
+    @Override
+    public void publish(Long roomId, byte[] payload) {
+        byte[] channel = channelOf(roomId).getBytes(StandardCharsets.UTF_8);
+        // 직렬화된 바이트를 그대로 PUBLISH (String 변환/재인코딩 없음)
+        stringRedisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, payload));
     }
 
-    public void publish(String channel, String message) {
-        System.out.println("🚀 Redis 채널에 메시지 게시: " + channel + ", 메시지: " + message);
-        stringRedisTemplate.convertAndSend(channel, message);
+    @Override
+    public void subscribeRoom(Long roomId) {
+        listenerContainer.addMessageListener(this, new ChannelTopic(channelOf(roomId)));
     }
 
     @Override
-    // pattern에는 topic의 이름의 패턴이 담겨있고, 이 패턴을 기반으로 다이나믹한 코딩
+    public void unsubscribeRoom(Long roomId) {
+        listenerContainer.removeMessageListener(this, new ChannelTopic(channelOf(roomId)));
+    }
+
+    @Override
+    // 채널 이름에서 roomId를 얻고, 본문 바이트는 파싱하지 않고 그대로 구독자에게 전달
     public void onMessage(@NonNull Message message, @Nullable byte[] pattern) {
-        // UTF-8로 명시적 변환
-        String payload = new String(message.getBody(), StandardCharsets.UTF_8);
-        System.out.println("📬 Redis에서 수신한 메시지: " + payload);
-        
-        try {
-            ChatMessageDto chatMessageDto = objectMapper.readValue(payload, ChatMessageDto.class);
-            
-            // UTF-8 인코딩 재확인
-            if (chatMessageDto.getMessage() != null) {
-                byte[] bytes = chatMessageDto.getMessage().getBytes(StandardCharsets.UTF_8);
-                String utf8Message = new String(bytes, StandardCharsets.UTF_8);
-                chatMessageDto.setMessage(utf8Message);
-                System.out.println("📝 인코딩 변환 후 메시지: " + utf8Message);
-            }
-            
-            messageTemplate.convertAndSend("/topic/" + chatMessageDto.getRoomId(), chatMessageDto);
-            System.out.println("📢 WebSocket 클라이언트로 메시지 전송: /topic/" + chatMessageDto.getRoomId());
-        } catch (JsonProcessingException e) {
-            System.err.println("❌ JSON 파싱 오류: " + e.getMessage());
-            throw new RuntimeException(e);
-        }
+        deliveryService.deliver(roomIdOf(message.getChannel()), message.getBody());
     }
 }
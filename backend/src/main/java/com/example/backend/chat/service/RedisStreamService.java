@@ -0,0 +1,253 @@
+package com.example.backend.chat.service;
+
+import com.example.backend.chat.dto.ChatMessageDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.ByteRecord;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 📌 Redis Streams 기반 채팅 메시지 전달 (chat.transport=stream)
+ * - 채팅방별 스트림 chat:stream:{roomId}에 XADD MAXLEN ~ 한 번으로 추가와 길이 제한
+ * - payload 필드에는 직렬화된 JSON 바이트를 그대로 저장하고, 구독자에게도 바이트 그대로 전달
+ * - consumer group 없이 XREAD로 읽음 (모든 노드가 같은 메시지를 받아야 하므로 그룹이 필요 없음)
+ *   → 노드 이름으로 그룹을 만들지 않으므로 재배포로 호스트 이름이 바뀌어도 Redis에 그룹이 쌓이지 않음
+ * - 스레드 하나가 구독 중인 모든 채팅방 스트림을 XREAD 한 번(BLOCK)으로 읽음
+ *   → 채팅방 수만큼 폴링 스레드/연결을 만들지 않음
+ * - 채팅방별로 마지막으로 읽은 ID부터 이어서 읽으므로 XREAD 사이에 추가된 메시지도 유실되지 않음
+ * - 재접속한 클라이언트는 MySQL 대신 스트림에서 최근 메시지를 조회
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "chat.transport", havingValue = "stream")
+public class RedisStreamService implements ChatMessageTransport {
+
+    private static final String STREAM_PREFIX = "chat:stream:";
+    private static final String PAYLOAD_FIELD = "payload";
+    private static final byte[] PAYLOAD_FIELD_BYTES = PAYLOAD_FIELD.getBytes(StandardCharsets.UTF_8);
+    private static final String EMPTY_STREAM_ID = "0-0";
+    private static final long ERROR_BACKOFF_MS = 1000;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ChatMessageDeliveryService deliveryService;
+    private final ObjectMapper objectMapper;
+    private final long maxLength;
+    private final long maxDeliveryAgeMs;
+    private final int readCount;
+    private final Duration pollTimeout;
+
+    // 채팅방 ID -> 마지막으로 읽은 스트림 ID (구독 중인 채팅방만)
+    private final Map<Long, String> offsets = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+    private Thread reader;
+
+    public RedisStreamService(
+            @Qualifier("chatPubSub") StringRedisTemplate stringRedisTemplate,
+            ChatMessageDeliveryService deliveryService,
+            ObjectMapper objectMapper,
+            @Value("${chat.stream.max-length:1000}") long maxLength,
+            @Value("${chat.stream.max-delivery-age-seconds:60}") long maxDeliveryAgeSeconds,
+            @Value("${chat.stream.read-count:500}") int readCount,
+            @Value("${chat.stream.poll-timeout-ms:200}") long pollTimeoutMs) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.deliveryService = deliveryService;
+        this.objectMapper = objectMapper;
+        this.maxLength = maxLength;
+        this.maxDeliveryAgeMs = Duration.ofSeconds(maxDeliveryAgeSeconds).toMillis();
+        this.readCount = readCount;
+        this.pollTimeout = Duration.ofMillis(pollTimeoutMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        reader = new Thread(this::runReadLoop, "chat-stream-reader");
+        reader.setDaemon(true);
+        reader.start();
+        log.info("Redis Streams 채팅 전달 시작 (maxLength={}, pollTimeoutMs={})", maxLength, pollTimeout.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        synchronized (offsets) {
+            offsets.notifyAll();
+        }
+        if (reader != null) {
+            try {
+                // 진행 중인 XREAD BLOCK이 끝날 때까지만 대기
+                reader.join(pollTimeout.toMillis() + ERROR_BACKOFF_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private String streamKey(Long roomId) {
+        return STREAM_PREFIX + roomId;
+    }
+
+    @Override
+    public void publish(Long roomId, byte[] payload) {
+        ByteRecord record = StreamRecords.rawBytes(Map.of(PAYLOAD_FIELD_BYTES, payload))
+                .withStreamKey(streamKey(roomId).getBytes(StandardCharsets.UTF_8));
+        // 근사(~) 트리밍으로 스트림 길이를 제한하여 메모리 사용량 유지
+        XAddOptions options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+        stringRedisTemplate.execute((RedisCallback<RecordId>) connection ->
+                connection.streamCommands().xAdd(record, options));
+    }
+
+    @Override
+    public void subscribeRoom(Long roomId) {
+        // 구독 시점의 마지막 ID부터 읽음 (XREAD의 $는 호출마다 기준이 바뀌어 호출 사이의 메시지를 놓치므로 사용하지 않음)
+        String lastId = lastStreamId(streamKey(roomId));
+        offsets.putIfAbsent(roomId, lastId);
+        synchronized (offsets) {
+            offsets.notifyAll();
+        }
+    }
+
+    @Override
+    public void unsubscribeRoom(Long roomId) {
+        offsets.remove(roomId);
+    }
+
+    // 스트림에 남은 메시지를 최근 메시지 조회에 사용하므로 구독자가 없어도 발행
+    @Override
+    public boolean retainsMessages() {
+        return true;
+    }
+
+    @Override
+    public Optional<List<ChatMessageDto>> recentMessages(Long roomId, int count) {
+        List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream()
+                .reverseRange(streamKey(roomId), Range.unbounded(), Limit.limit().count(count));
+        if (records == null || records.isEmpty()) {
+            return Optional.empty();
+        }
+        List<ChatMessageDto> messages = new ArrayList<>(records.size());
+        for (MapRecord<String, Object, Object> record : records) {
+            Object payload = record.getValue().get(PAYLOAD_FIELD);
+            if (payload == null) {
+                continue;
+            }
+            try {
+                messages.add(objectMapper.readValue(payload.toString(), ChatMessageDto.class));
+            } catch (Exception e) {
+                log.warn("스트림 메시지 파싱 실패: stream={}, id={}", record.getStream(), record.getId());
+            }
+        }
+        // 최신순으로 조회했으므로 오래된 순으로 뒤집음
+        Collections.reverse(messages);
+        return Optional.of(messages);
+    }
+
+    // 🔹 구독 중인 모든 채팅방 스트림을 XREAD 한 번으로 읽고 채팅방별 마지막 ID를 갱신
+    private void runReadLoop() {
+        while (running) {
+            try {
+                if (offsets.isEmpty()) {
+                    synchronized (offsets) {
+                        if (offsets.isEmpty() && running) {
+                            offsets.wait(pollTimeout.toMillis());
+                        }
+                    }
+                    continue;
+                }
+                readOnce();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.warn("Redis Streams 메시지 읽기 실패: {}", e.getMessage());
+                try {
+                    Thread.sleep(ERROR_BACKOFF_MS);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void readOnce() {
+        List<StreamOffset<byte[]>> streams = new ArrayList<>(offsets.size());
+        for (Map.Entry<Long, String> entry : offsets.entrySet()) {
+            streams.add(StreamOffset.create(streamKey(entry.getKey()).getBytes(StandardCharsets.UTF_8),
+                    ReadOffset.from(entry.getValue())));
+        }
+        StreamReadOptions options = StreamReadOptions.empty().count(readCount).block(pollTimeout);
+        @SuppressWarnings("unchecked")
+        StreamOffset<byte[]>[] streamArray = streams.toArray(new StreamOffset[0]);
+        List<ByteRecord> records = stringRedisTemplate.execute((RedisCallback<List<ByteRecord>>) connection ->
+                connection.streamCommands().xRead(options, streamArray));
+        if (records == null) {
+            return;
+        }
+        for (ByteRecord record : records) {
+            Long roomId = roomIdOf(record.getStream());
+            // 읽는 동안 구독 해제된 채팅방은 건너뛰고 다시 등록하지 않음
+            if (offsets.computeIfPresent(roomId, (id, offset) -> record.getId().getValue()) == null) {
+                continue;
+            }
+            onRecord(roomId, record);
+        }
+    }
+
+    private void onRecord(Long roomId, ByteRecord record) {
+        // 한동안 구독자가 없던 방의 밀린 메시지가 한꺼번에 전달되지 않도록 오래된 메시지는 건너뜀
+        Long timestamp = record.getId().getTimestamp();
+        if (timestamp != null && System.currentTimeMillis() - timestamp > maxDeliveryAgeMs) {
+            return;
+        }
+        for (Map.Entry<byte[], byte[]> field : record.getValue().entrySet()) {
+            if (Arrays.equals(PAYLOAD_FIELD_BYTES, field.getKey())) {
+                deliveryService.deliver(roomId, field.getValue());
+                return;
+            }
+        }
+    }
+
+    // 스트림의 마지막 ID 조회 (스트림이 없으면 0-0 → 처음 추가되는 메시지부터 읽음)
+    private String lastStreamId(String key) {
+        List<MapRecord<String, Object, Object>> last = stringRedisTemplate.opsForStream()
+                .reverseRange(key, Range.unbounded(), Limit.limit().count(1));
+        return last == null || last.isEmpty() ? EMPTY_STREAM_ID : last.get(0).getId().getValue();
+    }
+
+    // 스트림 키(chat:stream:{roomId})의 바이트에서 roomId 추출
+    private static Long roomIdOf(byte[] stream) {
+        long roomId = 0;
+        for (int i = STREAM_PREFIX.length(); i < stream.length; i++) {
+            roomId = roomId * 10 + (stream[i] - '0');
+        }
+        return roomId;
+    }
+}
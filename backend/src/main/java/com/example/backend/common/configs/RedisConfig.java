@@ -1,6 +1,5 @@
 package com.example.backend.common.configs;
 
-import com.example.backend.chat.service.RedisPubSubService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -9,9 +8,7 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.listener.PatternTopic;
 import org.springframework.data.redis.listener.RedisMessageListenerContainer;
-import org.springframework.data.redis.listener.adapter.MessageListenerAdapter;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
@@ -64,22 +61,13 @@ public class RedisConfig {
 
     /**
      * Redis 메시지 리스너 설정
+     * - 채팅방별 채널(chat:{roomId})은 로컬 구독자가 생길 때 RedisPubSubService가 동적으로 구독
      */
     @Bean
-    public RedisMessageListenerContainer redisMessageListenerContainer(
-            RedisConnectionFactory redisConnectionFactory,
-            MessageListenerAdapter messageListenerAdapter) {
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
         RedisMessageListenerContainer container = new RedisMessageListenerContainer();
         container.setConnectionFactory(redisConnectionFactory);
-        container.addMessageListener(messageListenerAdapter, new PatternTopic("chat"));
         return container;
     }
 
-    /**
-     * Redis 메시지를 수신하는 리스너 어댑터
-     */
-    @Bean
-    public MessageListenerAdapter messageListenerAdapter(RedisPubSubService redisPubSubService) {
-        return new MessageListenerAdapter(redisPubSubService, "onMessage");
-    }
 }
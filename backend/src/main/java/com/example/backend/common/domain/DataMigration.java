@@ -0,0 +1,30 @@
+package com.example.backend.common.domain;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 📌 적용된 일회성 데이터 마이그레이션 기록
+ * - name(PK)이 있으면 이미 적용된 마이그레이션 → 다시 실행하지 않음
+ * - 여러 노드가 동시에 실행해도 PK 충돌로 한 번만 기록됨
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class DataMigration {
+
+    @Id
+    private String name;
+
+    private LocalDateTime appliedAt;
+
+    public DataMigration(String name) {
+        this.name = name;
+        this.appliedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.backend.common.logging;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 초당 로그 기록 횟수를 제한하는 샘플러
+ * - 메시지마다 호출되는 경로(hot path)에서 로그가 폭증하지 않도록 1초 구간마다 최대 permitsPerSecond번만 허용
+ * - 락 없이 AtomicLong 두 개로 동작
+ */
+public class LogSampler {
+
+    private static final long WINDOW_NANOS = 1_000_000_000L;
+
+    private final int permitsPerSecond;
+    private final AtomicLong windowStart = new AtomicLong(System.nanoTime());
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * @param permitsPerSecond 1초 동안 허용할 로그 수 (0 이하이면 항상 거부)
+     */
+    public LogSampler(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    /**
+     * 이번 로그를 기록해도 되는지 확인
+     * @return 현재 1초 구간의 허용 횟수 이내이면 true
+     */
+    public boolean tryAcquire() {
+        long now = System.nanoTime();
+        long start = windowStart.get();
+        if (now - start >= WINDOW_NANOS && windowStart.compareAndSet(start, now)) {
+            count.set(0);
+        }
+        return count.incrementAndGet() <= permitsPerSecond;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.backend.common.repository;
+
+import com.example.backend.common.domain.DataMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DataMigrationRepository extends JpaRepository<DataMigration, String> {
+}
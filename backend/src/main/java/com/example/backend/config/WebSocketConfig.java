@@ -1,43 +0,0 @@
-package com.example.backend.config;
-
-import com.example.backend.chat.config.StompHandler;
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.annotation.Configuration;
-import org.springframework.core.Ordered;
-import org.springframework.core.annotation.Order;
-import org.springframework.lang.NonNull;
-import org.springframework.messaging.simp.config.ChannelRegistration;
-import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
-import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
-import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
-
-@Configuration
-@EnableWebSocketMessageBroker
-@Order(Ordered.HIGHEST_PRECEDENCE + 99)
-public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
-
-    @Autowired
-    private StompHandler stompHandler;
-
-    @Override
-    public void configureMessageBroker(@NonNull MessageBrokerRegistry config) {
-        config.enableSimpleBroker("/topic", "/queue")
-              .setHeartbeatValue(new long[]{10000, 10000});
-        config.setApplicationDestinationPrefixes("/publish");
-        config.setUserDestinationPrefix("/user");
-    }
-
-    @Override
-    public void registerStompEndpoints(@NonNull StompEndpointRegistry registry) {
-        registry.addEndpoint("/connect")
-                .setAllowedOrigins("http://localhost:5173")
-                .withSockJS()
-                .setHeartbeatTime(10000);
-    }
-
-    @Override
-    public void configureClientInboundChannel(@NonNull ChannelRegistration registration) {
-        registration.interceptors(stompHandler);
-    }
-} 
\ No newline at end of file
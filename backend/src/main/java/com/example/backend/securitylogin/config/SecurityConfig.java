@@ -5,7 +5,6 @@ import com.example.backend.securitylogin.customhandler.CustomLogoutFilter;
 import com.example.backend.securitylogin.customhandler.CustomOAuth2SuccessHandler;
 import com.example.backend.securitylogin.jwt.JWTFilter;
 import com.example.backend.securitylogin.jwt.JWTUtil;
-import com.example.backend.securitylogin.repository.RefreshRepository;
 import com.example.backend.securitylogin.service.RefreshTokenService;
 import com.example.backend.securitylogin.service.form.CustomUserDetailsService;
 import com.example.backend.securitylogin.service.oauth2.CustomOAuth2UserService;
@@ -36,9 +35,9 @@ import java.util.Collections;
 @RequiredArgsConstructor
 public class SecurityConfig {
     private final JWTUtil jwtUtil;
+    private final JWTFilter jwtFilter; // 🔹 Bean으로 등록된 필터를 그대로 사용 (요청당 한 번만 실행되도록)
     private final CustomOAuth2UserService customOAuth2UserService;
     private final RefreshTokenService refreshTokenService;
-    private final RefreshRepository refreshRepository;
     private final CustomUserDetailsService customUserDetailsService; // ✅ 사용자 정보 조회 서비스 추가
     private final OAuthUserEntityToUserEntityService oAuthUserEntityToUserEntityService;
     private final BCryptPasswordEncoder bCryptPasswordEncoder; // AppConfig에서 주입받기
@@ -136,11 +135,11 @@ public class SecurityConfig {
                         }));
 
         http    
-                .addFilterBefore(new JWTFilter(jwtUtil), UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
 
 
         http
-                .addFilterBefore(new CustomLogoutFilter(jwtUtil, refreshRepository), LogoutFilter.class);
+                .addFilterBefore(new CustomLogoutFilter(jwtUtil, refreshTokenService), LogoutFilter.class);
 
         http
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)); // ✅ JWT 기반 인증을 위해 STATELESS 모드 설정
@@ -1,13 +1,13 @@
 package com.example.backend.securitylogin.customhandler;
 
 import com.example.backend.securitylogin.jwt.JWTUtil;
-import com.example.backend.securitylogin.repository.RefreshRepository;
+import com.example.backend.securitylogin.service.RefreshTokenService;
 import com.example.backend.securitylogin.util.CookieUtil;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.ServletRequest;
 import jakarta.servlet.ServletResponse;
-import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -15,18 +15,17 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.GenericFilterBean;
 
 import java.io.IOException;
-import java.util.Arrays;
 
 /**
  * 📌 Redis 기반 로그아웃 필터
  * - Refresh Token 만료 및 삭제
- * - Redis에서 Refresh Token 관리
+ * - 로그인/재발급과 같은 RefreshTokenService 저장소와 refresh_token 쿠키를 사용
  */
 @RequiredArgsConstructor
 public class CustomLogoutFilter extends GenericFilterBean {
 
     private final JWTUtil jwtUtil;
-    private final RefreshRepository refreshRepository; // Redis 기반 Repository
+    private final RefreshTokenService refreshTokenService; // Redis 기반 Refresh Token 관리 서비스
 
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
@@ -47,45 +46,28 @@ public class CustomLogoutFilter extends GenericFilterBean {
             return;
         }
 
-        Cookie[] cookies = request.getCookies();
-        if (cookies == null) {
-            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
-            return;
-        }
-
-        String refresh = Arrays.stream(cookies)
-                .filter(cookie -> "refresh".equals(cookie.getName()))
-                .map(Cookie::getValue)
-                .findFirst()
-                .orElse(null);
-
+        String refresh = CookieUtil.getCookieValue(request, CookieUtil.REFRESH_TOKEN_COOKIE);
         if (refresh == null) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
-        String category = jwtUtil.getCategory(refresh);
-        if (category == null || !category.equals("refresh")) {
+        // 🔹 Refresh Token 검증 (만료/서명 오류, Refresh Token이 아닌 경우 포함)
+        try {
+            jwtUtil.parseRefreshToken(refresh);
+        } catch (JwtException e) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
-        // 🔹 Redis에서 Refresh Token 존재 여부 확인
-        boolean isExist = refreshRepository.existsById(refresh);
-        if (!isExist) {
+        // 🔹 Redis에서 Refresh Token 삭제 (저장된 토큰이 아니면 400)
+        if (!refreshTokenService.deleteRefreshTokenByToken(refresh)) {
             response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
             return;
         }
 
-        // 🔥 Redis Key를 맞춰서 삭제
-        String redisKey = "refreshToken:" + refresh;
-        System.out.println("Deleting refresh token: " + redisKey);
-        refreshRepository.deleteById(redisKey);
-        System.out.println("Refresh token deleted.");
-
         // 🔹 쿠키에서 Refresh Token 삭제
-        Cookie cookie = CookieUtil.createCookie("refresh", null, 0);
-        response.addCookie(cookie);
+        response.addCookie(CookieUtil.createCookie(CookieUtil.REFRESH_TOKEN_COOKIE, null, 0));
 
         // 🔹 SecurityContext 초기화 (로그아웃 처리)
         SecurityContextHolder.clearContext();
@@ -1,16 +1,16 @@
 package com.example.backend.securitylogin.jwt;
 
-import com.example.backend.securitylogin.dto.form.CustomUserDetails;
 import com.example.backend.securitylogin.entity.Role;
-import com.example.backend.securitylogin.entity.UserEntity;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -23,96 +23,106 @@ import java.io.IOException;
  * 📌 JWT 인증 필터
  * - HTTP 요청에서 JWT(Access Token)를 확인하고 검증하여 인증 정보를 설정
  * - 인증된 사용자의 정보를 `SecurityContextHolder`에 저장하여 이후 요청에서 사용 가능하도록 함
+ * - 토큰 클레임으로 바로 JwtPrincipal을 만들어 사용 (요청마다 UserEntity 생성 없음)
+ * - 만료된 토큰은 서명 검증 전에 exp만 읽어 거절 (예외 생성 없음)
+ * - 거절 사유는 스택 트레이스 대신 auth.jwt.rejected{reason} 카운터로 집계
  */
+@Slf4j
 @Component // 🔹 Spring이 자동으로 관리하는 Bean 등록
-@RequiredArgsConstructor // 🔹 Lombok을 사용하여 생성자 주입 자동화
 public class JWTFilter extends OncePerRequestFilter {
 
     private final JWTUtil jwtUtil; // 🔹 JWT 생성 및 검증 유틸 클래스
 
+    private final Counter expiredCounter;
+    private final Counter invalidSignatureCounter;
+    private final Counter malformedCounter;
+    private final Counter invalidCategoryCounter;
+    private final Counter errorCounter;
+
+    public JWTFilter(JWTUtil jwtUtil, MeterRegistry meterRegistry) {
+        this.jwtUtil = jwtUtil;
+        this.expiredCounter = rejected(meterRegistry, "expired");
+        this.invalidSignatureCounter = rejected(meterRegistry, "invalid_signature");
+        this.malformedCounter = rejected(meterRegistry, "malformed");
+        this.invalidCategoryCounter = rejected(meterRegistry, "invalid_category");
+        this.errorCounter = rejected(meterRegistry, "error");
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.jwt.rejected")
+                .tag("reason", reason)
+                .description("거절된 Access Token 수")
+                .register(meterRegistry);
+    }
+
     @Override
     protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull FilterChain filterChain) throws ServletException, IOException {
-        String requestURI = request.getRequestURI();
-        System.out.println("\n🌐 요청 URI: " + requestURI);
-        
-        if (requestURI.equals("/oauth2-jwt-header")) {
-            System.out.println("🔐 OAuth2 JWT 헤더 요청은 JWT 검증에서 제외됩니다.");
+        if (request.getRequestURI().equals("/oauth2-jwt-header")) {
+            // 🔹 OAuth2 JWT 헤더 요청은 JWT 검증에서 제외
             filterChain.doFilter(request, response);
             return;
         }
-        
-        String access_token = request.getHeader("Authorization");
-        System.out.println("🔍 요청받은 Authorization 헤더 값: " + access_token);
 
+        String access_token = request.getHeader("Authorization");
         if (access_token == null || !access_token.startsWith("Bearer ")) {
-            System.out.println("🚨 JWT 토큰이 없거나 잘못된 형식임. 요청을 그대로 진행함.");
+            // 🔹 JWT 토큰이 없거나 잘못된 형식이면 인증 없이 그대로 진행
             filterChain.doFilter(request, response);
             return;
         }
 
         access_token = access_token.substring(7);
-        System.out.println("🎫 처리할 토큰 값: " + access_token);
+
+        // 🔹 만료된 토큰은 서명 검증/예외 없이 바로 거절 (access token 만료 직후 몰리는 요청 대비)
+        if (jwtUtil.isExpiredUnverified(access_token)) {
+            reject(response, expiredCounter, "JWT Token Expired");
+            return;
+        }
 
         try {
-            System.out.println("🔎 토큰 만료 여부 확인 시작...");
-            if (jwtUtil.isExpired(access_token)) {
-                System.out.println("🚨 JWT 토큰이 만료됨");
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write("JWT Token Expired");
+            // 🔹 토큰을 한 번만 파싱/서명 검증하여 필요한 클레임을 모두 추출
+            JwtClaims claims = jwtUtil.parse(access_token);
+            if (claims.isExpired()) {
+                reject(response, expiredCounter, "JWT Token Expired");
                 return;
             }
-            System.out.println("✅ JWT 토큰이 유효함");
-
-            String category = jwtUtil.getCategory(access_token);
-            String username = jwtUtil.getUsername(access_token);
-            String role = jwtUtil.getRole(access_token);
 
-            System.out.println("📋 토큰 정보:");
-            System.out.println("   - 카테고리: " + category);
-            System.out.println("   - 사용자명: " + username);
-            System.out.println("   - 권한: " + role);
-
-            if (!"access_token".equals(category)) {
-                System.out.println("🚨 JWT 토큰의 category가 'access_token'가 아님: " + category);
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            if (!"access_token".equals(claims.category())) {
+                log.debug("JWT 토큰의 category가 'access_token'가 아님: {}", claims.category());
+                reject(response, invalidCategoryCounter, null);
                 return;
             }
 
-            UserEntity userPrincipal = UserEntity.builder()
-                    .email(username)
-                    .role(Role.valueOf(role))
-                    .password("temp_pw")
-                    .build();
-
-            CustomUserDetails customUserDetails = new CustomUserDetails(userPrincipal);
+            JwtPrincipal principal = new JwtPrincipal(claims.username(), Role.valueOf(claims.role()));
             UsernamePasswordAuthenticationToken authToken =
-                    new UsernamePasswordAuthenticationToken(customUserDetails, null, customUserDetails.getAuthorities());
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
 
             SecurityContextHolder.getContext().setAuthentication(authToken);
-            System.out.println("🔑 인증 성공: " + username + " (Role: " + role + ")");
-            System.out.println("🛡️ SecurityContextHolder에 저장된 인증 정보: " + SecurityContextHolder.getContext().getAuthentication());
+            log.debug("인증 성공: {} (Role: {})", claims.username(), claims.role());
 
         } catch (ExpiredJwtException e) {
-            System.out.println("🚨 JWT 토큰 만료됨: " + e.getMessage());
-            e.printStackTrace();
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write("JWT Token Expired");
+            reject(response, expiredCounter, "JWT Token Expired");
             return;
-        } catch (SignatureException | MalformedJwtException e) {
-            System.out.println("🚨 JWT 토큰이 손상되었거나 서명이 올바르지 않음: " + e.getMessage());
-            e.printStackTrace();
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write("Invalid JWT Signature");
+        } catch (SignatureException e) {
+            reject(response, invalidSignatureCounter, "Invalid JWT Signature");
+            return;
+        } catch (MalformedJwtException e) {
+            reject(response, malformedCounter, "Invalid JWT Signature");
             return;
         } catch (Exception e) {
-            System.out.println("🚨 JWT 처리 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write("JWT Error");
+            log.debug("JWT 처리 중 오류 발생: {}", e.getMessage());
+            reject(response, errorCounter, "JWT Error");
             return;
         }
 
         filterChain.doFilter(request, response);
-        System.out.println("✨ 필터 체인 처리 완료\n");
+    }
+
+    // 🔹 401 응답 + 거절 사유 카운터 증가 (스택 트레이스는 남기지 않음)
+    private void reject(HttpServletResponse response, Counter counter, String body) throws IOException {
+        counter.increment();
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        if (body != null) {
+            response.getWriter().write(body);
+        }
     }
 }
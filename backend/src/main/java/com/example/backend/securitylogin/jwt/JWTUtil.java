@@ -1,6 +1,8 @@
 package com.example.backend.securitylogin.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -8,6 +10,7 @@ import org.springframework.stereotype.Component;
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 import java.util.Date;
 
 /**
@@ -18,16 +21,20 @@ import java.util.Date;
 @Component // 🔹 Spring이 관리하는 Bean으로 등록
 public class JWTUtil {
 
+    private static final String HMAC_SHA256 = "HmacSHA256"; // 🔹 Jwts.SIG.HS256의 JCA 알고리즘 이름
+
     private final SecretKey secretKey; // 🔹 JWT 서명을 위한 SecretKey
+    private final JwtParser jwtParser; // 🔹 서명 검증용 파서 (불변 객체라 스레드 간 공유)
 
     /**
      * 🔹 JWT 서명을 위한 SecretKey 초기화
      * - application.yml에서 설정된 `spring.jwt.secret` 값을 가져와 SecretKey 생성
      */
     public JWTUtil(@Value("${spring.jwt.secret}") String secret) {
-        String algorithm = Jwts.SIG.HS256.key().build().getAlgorithm();
-        System.out.println("algorithm = " + algorithm);
-        secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), Jwts.SIG.HS256.key().build().getAlgorithm());
+        secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), HMAC_SHA256);
+        jwtParser = Jwts.parser()
+                .verifyWith(secretKey) // 🔹 SecretKey로 서명 검증
+                .build();
     }
 
     /**
@@ -35,11 +42,35 @@ public class JWTUtil {
      * - JWT를 파싱하여 클레임(Claims) 객체 반환
      */
     private Claims getPayload(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey) // 🔹 SecretKey로 서명 검증
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
+    }
+
+    /**
+     * 🔹 토큰을 한 번만 파싱/서명 검증하여 필요한 클레임을 모두 반환
+     * - 여러 클레임이 필요하면 개별 getter 대신 이 메서드 사용 (getter는 호출마다 서명 검증)
+     * - 만료된 토큰이면 ExpiredJwtException, 서명이 올바르지 않으면 SignatureException 발생
+     */
+    public JwtClaims parse(String token) {
+        Claims claims = getPayload(token);
+        return new JwtClaims(
+                claims.get("category", String.class),
+                claims.get("username", String.class),
+                claims.get("email", String.class),
+                claims.get("role", String.class),
+                claims.getExpiration()
+        );
+    }
+
+    /**
+     * 🔹 Refresh Token을 파싱/서명 검증하고 카테고리까지 확인 (재발급, 로그아웃에서 공통 사용)
+     * - 만료된 토큰이면 ExpiredJwtException, 서명/형식 오류이거나 Refresh Token이 아니면 JwtException 발생
+     */
+    public JwtClaims parseRefreshToken(String token) {
+        JwtClaims claims = parse(token);
+        if (!"refresh_token".equals(claims.category())) {
+            throw new JwtException("refresh token이 아닙니다.");
+        }
+        return claims;
     }
 
     /**
@@ -79,6 +110,38 @@ public class JWTUtil {
         return getPayload(token).getExpiration().before(new Date());
     }
 
+    /**
+     * 🔹 서명 검증 없이 Payload의 exp만 읽어 만료 여부 확인
+     * - 만료된 토큰을 서명 검증과 ExpiredJwtException 생성 없이 빠르게 거절하기 위한 사전 검사
+     * - 만료되지 않았다고 판단되거나 읽을 수 없는 토큰은 false → 반드시 parse()로 검증해야 함
+     */
+    public boolean isExpiredUnverified(String token) {
+        int payloadStart = token.indexOf('.') + 1;
+        int payloadEnd = payloadStart == 0 ? -1 : token.indexOf('.', payloadStart);
+        if (payloadEnd < 0) {
+            return false;
+        }
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(token.substring(payloadStart, payloadEnd)), StandardCharsets.UTF_8);
+            int index = payload.indexOf("\"exp\":");
+            if (index < 0) {
+                return false;
+            }
+            int start = index + 6;
+            int end = start;
+            while (end < payload.length() && Character.isDigit(payload.charAt(end))) {
+                end++;
+            }
+            if (end == start) {
+                return false;
+            }
+            long expiresAtSeconds = Long.parseLong(payload, start, end, 10);
+            return expiresAtSeconds * 1000 < System.currentTimeMillis();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
     /**
      * 🔹 JWT 생성 메서드
      * - category: "access" 또는 "refresh" (토큰 타입 구분)
@@ -0,0 +1,18 @@
+package com.example.backend.securitylogin.jwt;
+
+import java.util.Date;
+
+/**
+ * 📌 한 번 파싱한 JWT 클레임 (JWTUtil.parse 결과)
+ * - category: "access_token" 또는 "refresh_token"
+ * - email: 이메일 클레임이 없는 토큰이면 null
+ */
+public record JwtClaims(String category, String username, String email, String role, Date expiration) {
+
+    /**
+     * 🔹 토큰의 만료 여부 확인
+     */
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.backend.securitylogin.jwt;
+
+import com.example.backend.securitylogin.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 📌 Access Token 클레임으로 바로 만드는 인증 사용자 (JWTFilter 전용)
+ * - 요청마다 UserEntity/CustomUserDetails를 만들지 않고 이메일과 권한만 보관
+ * - @AuthenticationPrincipal UserDetails로 주입받는 기존 컨트롤러와 호환
+ */
+public record JwtPrincipal(String username, Role role) implements UserDetails {
+
+    // 🔹 역할별 권한 목록은 불변이므로 미리 만들어 공유
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority(role.name())));
+        }
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
+    }
+
+    @Override
+    public String getPassword() {
+        return null; // 🔹 토큰 인증이므로 비밀번호 없음
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+}
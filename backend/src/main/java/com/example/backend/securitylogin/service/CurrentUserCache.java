@@ -0,0 +1,120 @@
+package com.example.backend.securitylogin.service;
+
+import com.example.backend.securitylogin.entity.UserEntity;
+import com.example.backend.securitylogin.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 📌 인증 사용자 이름(principal) -> 사용자 ID/이메일 캐시
+ * - 프로세스 내 LRU + TTL 캐시 (user.cache.max-size, user.cache.ttl-seconds)
+ * - 캐시에 있으면 email/username 조회 쿼리 없이 getReferenceById로 UserEntity 참조를 만들어 사용
+ *   → ID만 필요한 곳(연관관계 저장, 참여자 조회 등)은 추가 쿼리 없음
+ * - 프로필 변경 시 트랜잭션 커밋 후 무효화
+ */
+@Slf4j
+@Component
+public class CurrentUserCache {
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final Map<String, CachedUser> cache;
+
+    public CurrentUserCache(
+            UserRepository userRepository,
+            @Value("${user.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${user.cache.max-size:10000}") int maxSize) {
+        this.userRepository = userRepository;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        // 🔹 접근 순서 기반 LinkedHashMap으로 LRU 구현 (최대 크기 초과 시 가장 오래 사용하지 않은 항목 제거)
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * 🔹 캐시된 사용자 조회 (없거나 만료되었으면 null)
+     */
+    public CachedUser get(String principalName) {
+        synchronized (cache) {
+            CachedUser cached = cache.get(principalName);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt() <= System.currentTimeMillis()) {
+                cache.remove(principalName);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * 🔹 조회한 사용자를 캐시에 저장
+     */
+    public void put(String principalName, UserEntity user) {
+        if (user.getId() == null) {
+            return;
+        }
+        CachedUser cachedUser = new CachedUser(user.getId(), user.getEmail(), System.currentTimeMillis() + ttlMillis);
+        synchronized (cache) {
+            cache.put(principalName, cachedUser);
+        }
+    }
+
+    /**
+     * 🔹 이메일로 사용자 조회 (캐시에 있으면 쿼리 없이 참조 반환)
+     * - 트랜잭션 안에서 사용해야 함 (참조의 다른 필드에 접근하면 그때 PK로 조회)
+     */
+    public Optional<UserEntity> findByEmail(String email) {
+        CachedUser cached = get(email);
+        if (cached != null) {
+            return Optional.of(userRepository.getReferenceById(cached.id()));
+        }
+        Optional<UserEntity> user = userRepository.findByEmail(email);
+        user.ifPresent(found -> put(email, found));
+        return user;
+    }
+
+    /**
+     * 🔹 사용자 정보 변경 시 해당 이메일의 캐시 항목 무효화 (OAuth2 principal 포함)
+     */
+    public void invalidate(String email) {
+        afterCommit(() -> {
+            synchronized (cache) {
+                cache.entrySet().removeIf(entry -> entry.getKey().equals(email) || email.equals(entry.getValue().email()));
+            }
+        });
+    }
+
+    // 🔹 커밋 전에 무효화하면 다른 요청이 이전 상태를 다시 캐시할 수 있으므로 커밋 이후에 실행
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 🔹 캐시 항목 : 사용자 ID, 이메일, 만료 시각
+     */
+    public record CachedUser(Long id, String email, long expiresAt) {
+    }
+}
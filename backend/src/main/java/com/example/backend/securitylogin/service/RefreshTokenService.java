@@ -2,15 +2,25 @@ package com.example.backend.securitylogin.service;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
 
 /**
  * 📌 Redis 기반 Refresh Token 관리 서비스
  * - JWT 인증 방식에서 사용자의 Refresh Token을 Redis에 저장
+ * - 로그인(저장), 재발급(교체), 로그아웃(삭제)이 모두 이 서비스 하나의 키 구조를 사용
  * - Redis TTL을 활용하여 자동 만료 설정
+ * - refreshToken:{email} -> 토큰, refreshTokenIndex:{sha1(토큰)} -> email (역인덱스, 같은 TTL)
+ *   → 토큰으로 폐기할 때 키 스캔 없이 명령 몇 개로 처리
+ * - 두 키는 항상 Lua 스크립트 안에서 함께 변경하여 원자성 보장
+ *   → 스크립트가 건드리는 키는 모두 KEYS로 전달 (역인덱스 키는 Java에서 계산, 기존 토큰은 먼저 조회 후 스크립트에서 재확인)
  */
 @Service // 🔹 Spring의 Service 컴포넌트로 등록
 @RequiredArgsConstructor // 🔹 Lombok을 사용하여 생성자 주입 자동화
@@ -19,6 +29,62 @@ public class RefreshTokenService {
     private final RedisTemplate<String, String> redisTemplate; // 🔹 RedisTemplate 주입
 
     private static final String REFRESH_TOKEN_PREFIX = "refreshToken:"; // 🔹 Redis Key Prefix
+    private static final String REFRESH_TOKEN_INDEX_PREFIX = "refreshTokenIndex:"; // 🔹 역인덱스 Key Prefix
+
+    // 🔹 저장된 토큰이 조회했던 값 그대로일 때만 기존 역인덱스를 지우고 새 토큰과 역인덱스를 같은 TTL로 저장
+    // KEYS[1]=refreshToken:{email}, KEYS[2]=새 토큰 역인덱스, KEYS[3]=기존 토큰 역인덱스(없으면 KEYS[2]와 같음)
+    // ARGV[1]=조회했던 기존 토큰(없으면 빈 문자열), ARGV[2]=새 토큰, ARGV[3]=TTL(초), ARGV[4]=email
+    // 반환: 1=저장, 0=조회 이후 다른 요청이 변경함 (다시 조회 후 재시도)
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>(
+            "local old = redis.call('GET', KEYS[1]) " +
+            "if (old or '') ~= ARGV[1] then return 0 end " +
+            "if old then redis.call('DEL', KEYS[3]) end " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3]) " +
+            "redis.call('SET', KEYS[2], ARGV[4], 'EX', ARGV[3]) " +
+            "return 1", Long.class);
+
+    // 🔹 email 기준 삭제 : 저장된 토큰이 조회했던 값 그대로일 때만 역인덱스와 함께 삭제
+    // KEYS[1]=refreshToken:{email}, KEYS[2]=기존 토큰 역인덱스, ARGV[1]=조회했던 기존 토큰
+    // 반환: 1=삭제, 0=조회 이후 다른 요청이 변경함 (다시 조회 후 재시도)
+    private static final RedisScript<Long> DELETE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[1] then return 0 end " +
+            "redis.call('DEL', KEYS[2]) " +
+            "redis.call('DEL', KEYS[1]) " +
+            "return 1", Long.class);
+
+    // 🔹 토큰 기준 삭제 : 역인덱스가 조회했던 email을 가리킬 때만 역인덱스를 지우고, 저장된 토큰이 같을 때만 토큰 삭제
+    // KEYS[1]=토큰 역인덱스, KEYS[2]=refreshToken:{email}, ARGV[1]=토큰, ARGV[2]=역인덱스에서 조회한 email
+    private static final RedisScript<Long> DELETE_BY_TOKEN_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) ~= ARGV[2] then return 0 end " +
+            "redis.call('DEL', KEYS[1]) " +
+            "if redis.call('GET', KEYS[2]) == ARGV[1] then " +
+            "  redis.call('DEL', KEYS[2]) " +
+            "  return 1 " +
+            "end " +
+            "return 0", Long.class);
+
+    // 🔹 저장된 토큰이 기대한 토큰과 같을 때만 새 토큰으로 교체 (compare-and-swap, 역인덱스 포함)
+    // KEYS[1]=refreshToken:{email}, KEYS[2]=기존 토큰 역인덱스, KEYS[3]=새 토큰 역인덱스
+    // ARGV[1]=기존 토큰, ARGV[2]=새 토큰, ARGV[3]=TTL(초), ARGV[4]=email
+    // 반환: 1=교체, 0=저장된 토큰 없음, -1=토큰 불일치
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) " +
+            "if not current then return 0 end " +
+            "if current ~= ARGV[1] then return -1 end " +
+            "redis.call('DEL', KEYS[2]) " +
+            "redis.call('SET', KEYS[1], ARGV[2], 'EX', ARGV[3]) " +
+            "redis.call('SET', KEYS[3], ARGV[4], 'EX', ARGV[3]) " +
+            "return 1", Long.class);
+
+    /**
+     * 🔹 Refresh Token 교체 결과
+     * - ROTATED: 새 토큰으로 교체됨
+     * - MISSING: 저장된 토큰 없음 (만료 또는 로그아웃)
+     * - MISMATCH: 저장된 토큰과 다름 (이미 다른 요청이 교체했거나 재사용된 토큰)
+     */
+    public enum RotationResult {
+        ROTATED, MISSING, MISMATCH
+    }
 
     /**
      * 🔹 Refresh Token을 Redis에 저장하는 메서드
@@ -27,7 +93,17 @@ public class RefreshTokenService {
      */
     public void saveRefresh(String email, Integer expireS, String refresh) {
         String key = REFRESH_TOKEN_PREFIX + email; // 🔹 Redis 저장 Key (ex: refreshToken:user@email.com)
-        redisTemplate.opsForValue().set(key, refresh, expireS, TimeUnit.SECONDS); // 🔹 TTL 설정하여 저장
+        String newIndexKey = indexKey(refresh);
+        // 스크립트가 건드리는 키를 모두 KEYS로 넘기기 위해 기존 토큰을 먼저 조회 (그 사이 바뀌었으면 다시 조회)
+        while (true) {
+            String old = redisTemplate.opsForValue().get(key);
+            List<String> keys = List.of(key, newIndexKey, old == null ? newIndexKey : indexKey(old));
+            Long saved = redisTemplate.execute(SAVE_SCRIPT, keys,
+                    old == null ? "" : old, refresh, String.valueOf(expireS), email); // 🔹 TTL 설정하여 저장
+            if (saved != null && saved == 1) {
+                return;
+            }
+        }
     }
 
     /**
@@ -39,30 +115,62 @@ public class RefreshTokenService {
         return redisTemplate.opsForValue().get(key); // 🔹 존재하지 않으면 null 반환
     }
 
+    /**
+     * 🔹 Refresh Token 교체 (Refresh Token Rotation)
+     * - 조회/비교/삭제/저장을 Lua 스크립트 하나로 원자적으로 처리
+     *   → 같은 토큰으로 동시에 재발급을 요청해도 하나만 성공
+     */
+    public RotationResult rotateRefresh(String email, String expectedRefresh, Integer expireS, String newRefresh) {
+        String key = REFRESH_TOKEN_PREFIX + email;
+        Long result = redisTemplate.execute(ROTATE_SCRIPT, List.of(key, indexKey(expectedRefresh), indexKey(newRefresh)),
+                expectedRefresh, newRefresh, String.valueOf(expireS), email);
+        if (result == null || result == 0) {
+            return RotationResult.MISSING;
+        }
+        return result == 1 ? RotationResult.ROTATED : RotationResult.MISMATCH;
+    }
+
     /**
      * 🔹 Refresh Token 삭제 메서드
      * - email 기반으로 삭제
      */
     public void deleteRefreshToken(String email) {
         String key = REFRESH_TOKEN_PREFIX + email;
-        redisTemplate.delete(key);
+        while (true) {
+            String old = redisTemplate.opsForValue().get(key);
+            if (old == null) {
+                return;
+            }
+            Long deleted = redisTemplate.execute(DELETE_SCRIPT, List.of(key, indexKey(old)), old);
+            if (deleted != null && deleted == 1) {
+                return;
+            }
+        }
     }
 
     /**
      * 🔹 Refresh Token 삭제 메서드 (토큰 기반)
-     * - 토큰 값을 기준으로 삭제하는 방식
+     * - 역인덱스로 email을 찾아 삭제 (사용자 수와 관계없이 명령 수 일정)
+     * - 저장된 토큰이었으면 true, 이미 없거나 교체된 토큰이면 false
      */
-    public void deleteRefreshTokenByToken(String refreshToken) {
-        String keyPattern = REFRESH_TOKEN_PREFIX + "*";
-        Set<String> keys = redisTemplate.keys(keyPattern);
-        if (keys != null) {
-            for (String key : keys) {
-                String storedToken = redisTemplate.opsForValue().get(key);
-                if (refreshToken.equals(storedToken)) {
-                    redisTemplate.delete(key);
-                    break;
-                }
-            }
+    public boolean deleteRefreshTokenByToken(String refreshToken) {
+        String indexKey = indexKey(refreshToken);
+        String email = redisTemplate.opsForValue().get(indexKey);
+        if (email == null) {
+            return false;
+        }
+        Long deleted = redisTemplate.execute(DELETE_BY_TOKEN_SCRIPT, List.of(indexKey, REFRESH_TOKEN_PREFIX + email),
+                refreshToken, email);
+        return deleted != null && deleted == 1;
+    }
+
+    // 🔹 역인덱스 키 : refreshTokenIndex:{sha1(토큰) 16진수 소문자} (기존 Lua redis.sha1hex와 같은 형식)
+    private static String indexKey(String refreshToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(refreshToken.getBytes(StandardCharsets.UTF_8));
+            return REFRESH_TOKEN_INDEX_PREFIX + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-1 알고리즘을 사용할 수 없습니다.", e);
         }
     }
 }
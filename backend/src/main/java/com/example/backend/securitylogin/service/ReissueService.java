@@ -1,9 +1,10 @@
 package com.example.backend.securitylogin.service;
 
 import com.example.backend.securitylogin.jwt.JWTUtil;
+import com.example.backend.securitylogin.jwt.JwtClaims;
 import com.example.backend.securitylogin.util.CookieUtil;
 import io.jsonwebtoken.ExpiredJwtException;
-import jakarta.servlet.http.Cookie;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
@@ -11,8 +12,6 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 
-import java.util.Arrays;
-
 /**
  * 📌 Redis 기반 Access Token 재발급 서비스
  * - Redis에서 Refresh Token을 검증하고 새로운 Access Token을 생성하여 반환
@@ -31,55 +30,32 @@ public class ReissueService {
      * - 기존 Refresh Token은 폐기하고 새로 저장 (Refresh Token Rotation 적용)
      */
     public ResponseEntity<?> reissue(HttpServletRequest request, HttpServletResponse response) {
-        String refresh_token = null;
-        Cookie[] cookies = request.getCookies();
-
-        // 🔹 쿠키에서 Refresh Token 찾기
-        refresh_token = Arrays.stream(cookies)
-                .filter((cookie) -> cookie.getName().equals("refresh_token"))
-                .findFirst()
-                .map(Cookie::getValue)
-                .orElse(null);
+        // 🔹 쿠키에서 Refresh Token 찾기 (쿠키가 없으면 null)
+        String refresh_token = CookieUtil.getCookieValue(request, CookieUtil.REFRESH_TOKEN_COOKIE);
 
         // 🔹 Refresh Token이 존재하지 않으면 400 Bad Request 반환
         if (refresh_token == null) {
             return new ResponseEntity<>("refresh token is null", HttpStatus.BAD_REQUEST);
         }
 
-        // 🔹 만료된 Refresh Token 검증 (만료된 경우 ExpiredJwtException 발생)
+        // 🔹 Refresh Token을 한 번만 파싱/서명 검증 (만료, 서명 오류, 형식 오류, Refresh Token이 아닌 경우 모두 400)
+        JwtClaims claims;
         try {
-            jwtUtil.isExpired(refresh_token);
+            claims = jwtUtil.parseRefreshToken(refresh_token);
         } catch (ExpiredJwtException e) {
             return new ResponseEntity<>("refresh token expired", HttpStatus.BAD_REQUEST);
-        }
-
-        // 🔹 Refresh Token이 아닌 경우 (유효한 Refresh Token인지 확인)
-        String category = jwtUtil.getCategory(refresh_token);
-        if (!category.equals("refresh_token")) {
+        } catch (JwtException e) {
             return new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST);
         }
 
         // 🔹 Refresh Token에서 사용자 정보(아이디, 역할) 추출
-        String username = jwtUtil.getUsername(refresh_token);
-        String role = jwtUtil.getRole(refresh_token);
-        
-        // 이메일 정보 추출 (없으면 username을 이메일로 사용)
-        String email;
-        try {
-            email = jwtUtil.getEmail(refresh_token);
-            if (email == null || email.isEmpty()) {
-                email = username; // 이메일이 없으면 username을 사용
-            }
-        } catch (Exception e) {
-            email = username; // 예외 발생 시 username을 이메일로 사용
-        }
+        String username = claims.username();
+        String role = claims.role();
 
-        // 🔹 Redis에서 Refresh Token 존재 여부 확인
-        String storedRefreshToken = refreshTokenService.getRefreshToken(email);
-
-        // 🔹 Redis에 저장된 Refresh Token과 비교 (없거나 다르면 무효화)
-        if (storedRefreshToken == null || !storedRefreshToken.equals(refresh_token)) {
-            return new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST);
+        // 이메일 정보 추출 (없으면 username을 이메일로 사용)
+        String email = claims.email();
+        if (email == null || email.isEmpty()) {
+            email = username; // 이메일이 없으면 username을 사용
         }
 
         // 🔹 새로운 Access Token 및 Refresh Token 생성
@@ -98,15 +74,20 @@ public class ReissueService {
             newRefresh_token = jwtUtil.createJwt("refresh_token", username, role, expiredS * 1000L);
         }
 
-        // 🔹 기존 Refresh Token을 Redis에서 삭제하고 새 Refresh Token 저장 (Refresh Token Rotation 적용)
-        refreshTokenService.deleteRefreshToken(email); // 기존 Refresh Token 삭제
-        refreshTokenService.saveRefresh(email, expiredS, newRefresh_token); // 새로운 Refresh Token 저장
+        // 🔹 Redis에 저장된 Refresh Token과 같을 때만 새 Refresh Token으로 교체 (Refresh Token Rotation 적용)
+        // - 비교와 교체를 한 번에 원자적으로 처리하므로 동시 재발급 요청 중 하나만 성공
+        RefreshTokenService.RotationResult rotation =
+                refreshTokenService.rotateRefresh(email, refresh_token, expiredS, newRefresh_token);
+        if (rotation != RefreshTokenService.RotationResult.ROTATED) {
+            // 없거나(MISSING) 다르면(MISMATCH) 무효화
+            return new ResponseEntity<>("invalid refresh token", HttpStatus.BAD_REQUEST);
+        }
 
         // 🔹 새로운 Access Token을 헤더에 추가
         response.setHeader("access_token", newAccess_token);
 
         // 🔹 새로운 Refresh Token을 쿠키에 저장
-        response.addCookie(CookieUtil.createCookie("refresh_token", newRefresh_token, expiredS));
+        response.addCookie(CookieUtil.createCookie(CookieUtil.REFRESH_TOKEN_COOKIE, newRefresh_token, expiredS));
 
         return new ResponseEntity<>(HttpStatus.OK);
     }
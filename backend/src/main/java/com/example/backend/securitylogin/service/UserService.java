@@ -27,6 +27,7 @@ import java.util.concurrent.TimeUnit;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final CurrentUserCache currentUserCache;
     private final AmazonS3 amazonS3;
     
     @Value("${spring.cloud.aws.s3.bucket}")
@@ -84,6 +85,7 @@ public class UserService {
         }
         
         userRepository.save(user);
+        currentUserCache.invalidate(email); // 🔹 프로필 변경 시 현재 사용자 캐시 무효화
         
         // 업데이트된 정보로 DTO 생성
         UserProfileDto updatedProfile = UserProfileDto.builder()
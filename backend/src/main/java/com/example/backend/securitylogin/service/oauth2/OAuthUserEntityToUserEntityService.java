@@ -5,11 +5,14 @@ import com.example.backend.securitylogin.entity.Role;
 import com.example.backend.securitylogin.entity.UserEntity;
 import com.example.backend.securitylogin.repository.OAuth2UserRepository;
 import com.example.backend.securitylogin.repository.UserRepository;
+import com.example.backend.securitylogin.service.CurrentUserCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 
 import java.util.logging.Logger;
 
@@ -24,49 +27,100 @@ public class OAuthUserEntityToUserEntityService {
     private static final Logger logger = Logger.getLogger(OAuthUserEntityToUserEntityService.class.getName());
     private final OAuth2UserRepository oAuth2UserRepository;
     private final UserRepository userRepository;
+    private final CurrentUserCache currentUserCache;
+
+    // 요청 속성 키 prefix (같은 요청 안에서 현재 사용자 재사용)
+    private static final String CURRENT_USER_ATTRIBUTE = OAuthUserEntityToUserEntityService.class.getName() + ".currentUser:";
 
     /**
      * 현재 인증된 사용자가 OAuth2 사용자인 경우 UserEntity로 변환 또는 찾아서 반환
      * - SecurityContext에서 현재 인증된 사용자의 이메일/이름을 가져옴
      * - 해당 이메일로 UserEntity를 찾거나 없으면 새로 생성
+     * - 같은 요청 안에서는 한 번만 확인 (요청 속성에 사용자 ID/이메일 저장)
+     * - 요청 간에는 CurrentUserCache(principal -> 사용자 ID/이메일)에 있으면 조회 쿼리 없이 참조 반환
+     *   → 참조의 ID 외 필드에 접근하면 그때 PK로 조회
      */
     @Transactional
     public UserEntity getCurrentUserEntityFromOAuth() {
         // 현재 인증된 사용자 정보 가져오기
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String username = authentication.getName(); // OAuth2 인증의 경우 provider id 형식 (예: "naver 12345")
-        
-        logger.info("현재 인증된 사용자: " + username);
-        
+
+        CurrentUserCache.CachedUser cached = cachedCurrentUser(username);
+        if (cached != null) {
+            return userRepository.getReferenceById(cached.id());
+        }
+        UserEntity user = loadCurrentUserEntity(username);
+        rememberCurrentUser(username, user);
+        return user;
+    }
+
+    /**
+     * 현재 인증된 사용자의 이메일 (캐시에 있으면 조회 쿼리 없음)
+     */
+    @Transactional
+    public String getCurrentUserEmail() {
+        String username = SecurityContextHolder.getContext().getAuthentication().getName();
+        CurrentUserCache.CachedUser cached = cachedCurrentUser(username);
+        if (cached != null) {
+            return cached.email();
+        }
+        UserEntity user = loadCurrentUserEntity(username);
+        rememberCurrentUser(username, user);
+        return user.getEmail();
+    }
+
+    // 요청 속성 -> 요청 간 캐시 순서로 현재 사용자 조회
+    private CurrentUserCache.CachedUser cachedCurrentUser(String username) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        String memoKey = CURRENT_USER_ATTRIBUTE + username;
+        if (requestAttributes != null
+                && requestAttributes.getAttribute(memoKey, RequestAttributes.SCOPE_REQUEST) instanceof CurrentUserCache.CachedUser memo) {
+            return memo;
+        }
+        CurrentUserCache.CachedUser cached = currentUserCache.get(username);
+        if (cached != null && requestAttributes != null) {
+            requestAttributes.setAttribute(memoKey, cached, RequestAttributes.SCOPE_REQUEST);
+        }
+        return cached;
+    }
+
+    private void rememberCurrentUser(String username, UserEntity user) {
+        currentUserCache.put(username, user);
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        CurrentUserCache.CachedUser cached = currentUserCache.get(username);
+        if (requestAttributes != null && cached != null) {
+            requestAttributes.setAttribute(CURRENT_USER_ATTRIBUTE + username, cached, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    // 캐시에 없을 때 DB에서 현재 사용자 조회 (OAuth2 사용자는 UserEntity가 없으면 생성)
+    private UserEntity loadCurrentUserEntity(String username) {
+        logger.fine(() -> "현재 인증된 사용자: " + username);
+
         // 일반 로그인 사용자인 경우 바로 반환
         if (!username.contains(" ")) {
-            logger.info("일반 로그인 사용자 확인됨: " + username);
             return userRepository.findByEmail(username)
                     .orElseThrow(() -> new RuntimeException("인증된 사용자를 찾을 수 없습니다: " + username));
         }
-        
-        // OAuth2 사용자인 경우 처리
-        logger.info("OAuth2 사용자 인증 확인됨: " + username);
-        
+
         // OAuth2 사용자 정보 조회
         OAuth2UserEntity oAuth2User = oAuth2UserRepository.findByUsername(username);
         if (oAuth2User == null) {
             logger.severe("OAuth2 사용자 정보를 찾을 수 없음: " + username);
             throw new RuntimeException("OAuth2 인증된 사용자 정보를 찾을 수 없습니다: " + username);
         }
-        
+
         // 이메일이 있는 경우 해당 이메일 사용
         String email = oAuth2User.getEmail();
         if (email != null && !email.isEmpty()) {
-            logger.info("OAuth2 사용자의 실제 이메일 사용: " + email);
             return findOrCreateUserEntity(email, oAuth2User.getName());
         }
-        
+
         // 이메일이 없는 경우에도 username을 그대로 사용 (가상 이메일 생성하지 않음)
-        logger.info("OAuth2 사용자의 username을 이메일로 사용: " + username);
         return findOrCreateUserEntity(username, oAuth2User.getName());
     }
-    
+
     /**
      * OAuth2UserEntity 객체로부터 UserEntity를 생성하거나 찾아서 반환
      */
@@ -1,6 +1,7 @@
 package com.example.backend.securitylogin.util;
 
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 
 /**
  * 📌 쿠키 관련 유틸리티 클래스
@@ -9,6 +10,8 @@ import jakarta.servlet.http.Cookie;
  */
 public class CookieUtil {
 
+    public static final String REFRESH_TOKEN_COOKIE = "refresh_token"; // 🔹 Refresh Token 쿠키 이름
+
     /**
      * 🔹 새로운 쿠키를 생성하는 메서드
      * - key: 쿠키 이름
@@ -22,4 +25,21 @@ public class CookieUtil {
         cookie.setMaxAge(expiredS); // 🔹 쿠키 만료 시간 설정 (초 단위)
         return cookie;
     }
+
+    /**
+     * 🔹 요청에서 쿠키 값을 찾는 메서드
+     * - 쿠키가 하나도 없거나(getCookies()가 null) 해당 이름의 쿠키가 없으면 null 반환
+     */
+    public static String getCookieValue(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (name.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
 }
@@ -198,7 +198,9 @@ export default function StompChatPage() {
           (message) => {
             console.log("📩 받은 메시지:", message.body);
             const parsedMessage = JSON.parse(message.body);
-            setMessages((prev) => [...prev, parsedMessage]);
+            // 서버 묶음 전송(chat.delivery.coalesce) 시 본문이 메시지 배열
+            const received = Array.isArray(parsedMessage) ? parsedMessage : [parsedMessage];
+            setMessages((prev) => [...prev, ...received]);
             scrollToBottom();
           },
           { Authorization: `Bearer ${token}` }